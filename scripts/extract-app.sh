@@ -0,0 +1,17 @@
+#!/bin/sh
+# Unpacks the Spring Boot jar into a plain classpath that AppCDS can archive: <dir>/application.jar
+# holds the application's own classes and resources, <dir>/lib/ its dependencies. Run it with
+#   java -cp "<dir>/application.jar:<dir>/lib/*" com.mms.MovieManagementSystemApplication
+#
+# usage: scripts/extract-app.sh <boot-jar> <dir>
+set -eu
+
+jar_file=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+dir=$2
+
+rm -rf "$dir/unpacked" "$dir/lib" "$dir/application.jar"
+mkdir -p "$dir/unpacked" "$dir/lib"
+(cd "$dir/unpacked" && jar -xf "$jar_file")
+mv "$dir"/unpacked/BOOT-INF/lib/*.jar "$dir/lib/"
+jar --create --file "$dir/application.jar" -C "$dir/unpacked/BOOT-INF/classes" .
+rm -rf "$dir/unpacked"
@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Startup benchmark: milliseconds from JVM launch until the first GET /api/movies answers
+# 200, for each way of launching the built jar:
+#
+#   jar        java -jar on the Spring Boot jar
+#   classpath  the jar unpacked by scripts/extract-app.sh
+#   cds        unpacked, plus an AppCDS archive recorded by a training run
+#
+# A jar built with -Pfast-startup contains the Spring AOT context, which then runs in every
+# mode (-Dspring.aot.enabled=true); benchmark a plain and a fast-startup build to compare.
+#
+# usage: scripts/startup-benchmark.sh [runs]
+# environment: PORT (default 18080), JAVA_OPTS, APP_ARGS (extra application arguments)
+set -euo pipefail
+
+runs=${1:-5}
+port=${PORT:-18080}
+java_opts=${JAVA_OPTS:-}
+app_args=${APP_ARGS:-}
+root=$(cd "$(dirname "$0")/.." && pwd)
+jar=$(ls "$root"/target/movie-management-system-*.jar | head -n 1)
+work="$root/target/startup-benchmark"
+main=com.mms.MovieManagementSystemApplication
+
+mkdir -p "$work"
+"$root/scripts/extract-app.sh" "$jar" "$work/app"
+classpath="$work/app/application.jar:$work/app/lib/*"
+archive="$work/app/application.jsa"
+
+if jar -tf "$jar" | grep -q "com/mms/MovieManagementSystemApplication__ApplicationContextInitializer"; then
+    aot="Spring AOT"
+    java_opts="$java_opts -Dspring.aot.enabled=true"
+else
+    aot="no AOT, build with 'mvn -Pfast-startup package' for it"
+fi
+
+# Training run: refreshes the context, which loads the classes a real start needs, and dumps
+# them into the archive as the JVM exits
+set -f
+java $java_opts -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh \
+    -cp "$classpath" "$main" --server.port="$port" $app_args > "$work/training.log" 2>&1 || true
+set +f
+
+command_for() {
+    case $1 in
+        jar) echo "java $java_opts -jar $jar" ;;
+        classpath) echo "java $java_opts -cp $classpath $main" ;;
+        cds) echo "java $java_opts -XX:SharedArchiveFile=$archive -cp $classpath $main" ;;
+    esac
+}
+
+time_to_first_request() {
+    local started pid
+    started=$(date +%s%N)
+    # Word splitting of the command is intended; the classpath wildcard is expanded by java
+    set -f
+    $(command_for "$1") --server.port="$port" $app_args > "$work/run.log" 2>&1 &
+    set +f
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$port/api/movies"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited during startup, see $work/run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    echo $(( ($(date +%s%N) - started) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+}
+
+printf '%-10s %8s %8s %8s   (ms to first request, %d runs, %s)\n' mode min median max "$runs" "$aot"
+for mode in jar classpath cds; do
+    results=()
+    for ((i = 0; i < runs; i++)); do
+        results+=("$(time_to_first_request "$mode")")
+    done
+    sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+    printf '%-10s %8d %8d %8d\n' "$mode" "${sorted[0]}" "${sorted[$((runs / 2))]}" "${sorted[$((runs - 1))]}"
+done
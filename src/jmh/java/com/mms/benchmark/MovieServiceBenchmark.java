@@ -0,0 +1,101 @@
+package com.mms.benchmark;
+
+import com.mms.dto.MovieSearchCriteria;
+import com.mms.dto.MovieSortKey;
+import com.mms.entity.Movie;
+import com.mms.repository.MovieRepository;
+import com.mms.service.MovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service and repository read paths against a seeded H2 catalog. {@code cacheEnabled}
+ * switches the read-through cache in front of {@code getMovieById}, so both the hit path
+ * and the database round trip can be measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieServiceBenchmark {
+
+    @Param({"10000"})
+    public int datasetSize;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private MovieRepository movieRepository;
+    private long minId;
+    private final Pageable firstPage = PageRequest.of(0, 50);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededApplication.start(datasetSize, "mms.cache.movie.enabled=" + cacheEnabled);
+        movieService = context.getBean(MovieService.class);
+        movieRepository = context.getBean(MovieRepository.class);
+        minId = movieService.getMoviesPage(MovieSortKey.ID, null, 1).items().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Movie getMovieById() {
+        return movieService.getMovieById(minId + ThreadLocalRandom.current().nextInt(datasetSize));
+    }
+
+    @Benchmark
+    public List<Movie> findByDirector() {
+        return movieRepository.findByDirector("Director " + ThreadLocalRandom.current().nextInt(SeededApplication.DIRECTORS));
+    }
+
+    @Benchmark
+    public List<Movie> findByReleaseYear() {
+        return movieRepository.findByReleaseYear(1950 + ThreadLocalRandom.current().nextInt(70));
+    }
+
+    @Benchmark
+    public Slice<Movie> getMoviesByGenrePage() {
+        int genre = ThreadLocalRandom.current().nextInt(SeededApplication.GENRES);
+        return movieService.getMoviesByGenre(SeededApplication.genre(genre), firstPage, false);
+    }
+
+    @Benchmark
+    public Slice<Movie> getMoviesByRatingPage() {
+        return movieService.getMoviesByRatingGreaterThanEqual(9.5, firstPage, false);
+    }
+
+    @Benchmark
+    public Slice<Movie> searchGenreYearRating() {
+        int genre = ThreadLocalRandom.current().nextInt(SeededApplication.GENRES);
+        MovieSearchCriteria criteria = new MovieSearchCriteria(
+                List.of(SeededApplication.genre(genre)), null, null, 1990, 2000, 8.0, null);
+        return movieService.searchMovies(criteria, firstPage, false);
+    }
+}
@@ -0,0 +1,70 @@
+package com.mms.benchmark;
+
+import com.mms.MovieManagementSystemApplication;
+import com.mms.entity.Movie;
+import com.mms.service.MovieBulkService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database and
+ * seeds it with a deterministic catalog of {@code size} movies: 20 genres, 500 directors,
+ * release years 1950-2019 and ratings 0.0-9.9.
+ */
+final class SeededApplication {
+
+    static final int GENRES = 20;
+    static final int DIRECTORS = 500;
+
+    private SeededApplication() {
+    }
+
+    static ConfigurableApplicationContext start(int size, String... properties) {
+        String[] defaults = {
+                "spring.datasource.url=jdbc:h2:mem:jmh-" + System.nanoTime(),
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "mms.index-check.enabled=false",
+                "mms.concurrency-limit.enabled=false",
+                "logging.level.root=WARN"
+        };
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MovieManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(defaults)
+                .properties(properties)
+                .run();
+        context.getBean(MovieBulkService.class).createMovies(movies(size));
+        return context;
+    }
+
+    static Movie movie(int i) {
+        return new Movie("Movie " + i, genre(i), "Director " + (i % DIRECTORS), 1950 + i % 70, (i % 100) / 10.0);
+    }
+
+    static String genre(int i) {
+        return "Genre " + (i % GENRES);
+    }
+
+    private static Iterator<Movie> movies(int size) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Movie next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return movie(next++);
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.mms.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mms.entity.Movie;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of movies by id. Ids that do not exist are cached separately
+ * so repeated lookups of missing movies do not reach the database either.
+ */
+@Component
+public class MovieCache {
+
+    private final boolean enabled;
+    private final Cache<Long, Movie> movies;
+    private final Cache<Long, Boolean> missing;
+
+    public MovieCache(MovieCacheProperties properties) {
+        this.enabled = properties.enabled();
+        this.movies = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(properties.negativeMaximumSize())
+                .expireAfterWrite(properties.negativeExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Movie> get(Long id, Function<Long, Optional<Movie>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        if (missing.getIfPresent(id) != null) {
+            return Optional.empty();
+        }
+        Movie movie = movies.get(id, key -> loader.apply(key).orElse(null));
+        if (movie == null) {
+            missing.put(id, Boolean.TRUE);
+        }
+        return Optional.ofNullable(movie);
+    }
+
+    /**
+     * Returns the cached movie without loading it on a miss and without counting toward
+     * the hit/miss statistics; {@code null} when it is not cached.
+     */
+    public Movie peek(Long id) {
+        return enabled ? movies.asMap().get(id) : null;
+    }
+
+    /**
+     * Drops any cached state for {@code id}. Inside a transaction the entry is dropped again
+     * after commit, so a concurrent reader cannot re-populate it with the pre-commit row.
+     */
+    public void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        movies.invalidateAll();
+        missing.invalidateAll();
+    }
+
+    public MovieCacheStats stats() {
+        CacheStats stats = movies.stats();
+        CacheStats negativeStats = missing.stats();
+        return new MovieCacheStats(
+                stats.hitCount(),
+                stats.missCount(),
+                negativeStats.hitCount(),
+                stats.evictionCount() + negativeStats.evictionCount(),
+                movies.estimatedSize(),
+                missing.estimatedSize(),
+                stats.hitRate());
+    }
+
+    public void bindMetrics(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, movies, "movies");
+        CaffeineCacheMetrics.monitor(registry, missing, "movies.missing");
+    }
+
+    private void evict(Long id) {
+        movies.invalidate(id);
+        missing.invalidate(id);
+    }
+}
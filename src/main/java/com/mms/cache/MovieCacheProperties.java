@@ -0,0 +1,19 @@
+package com.mms.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the read-through movie cache ({@code mms.cache.movie.*}). Negative entries
+ * remember ids that were not found and use their own, usually shorter, lifetime.
+ */
+@ConfigurationProperties(prefix = "mms.cache.movie")
+public record MovieCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration expireAfterWrite,
+        @DefaultValue("10000") long negativeMaximumSize,
+        @DefaultValue("30s") Duration negativeExpireAfterWrite) {
+}
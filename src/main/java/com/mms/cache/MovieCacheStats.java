@@ -0,0 +1,11 @@
+package com.mms.cache;
+
+public record MovieCacheStats(
+        long hits,
+        long misses,
+        long negativeHits,
+        long evictions,
+        long size,
+        long negativeSize,
+        double hitRate) {
+}
@@ -0,0 +1,28 @@
+package com.mms.changes;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Change stream settings ({@code mms.changes.*}). {@code capacity} is the number of recent
+ * changes retained for resuming subscribers and is rounded up to a power of two. A subscriber
+ * that falls further behind than that is handled according to {@code overflowPolicy}.
+ */
+@ConfigurationProperties(prefix = "mms.changes")
+public record ChangeStreamProperties(
+        @DefaultValue("8192") int capacity,
+        @DefaultValue("100") int maxSubscribers,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("DISCONNECT") OverflowPolicy overflowPolicy) {
+
+    public enum OverflowPolicy {
+        /** Report the dropped range and continue from the oldest retained change. */
+        SKIP,
+        /** Report the dropped range and close the stream; the client resyncs and resubscribes. */
+        DISCONNECT
+    }
+}
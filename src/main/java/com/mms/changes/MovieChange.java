@@ -0,0 +1,14 @@
+package com.mms.changes;
+
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+
+import java.time.Instant;
+
+/**
+ * One entry of the change log. {@code sequence} is gap-free and increases in the order the
+ * changes were committed; {@code movie} follows the conventions of {@link MovieChangedEvent}.
+ */
+public record MovieChange(long sequence, Instant timestamp, MovieChangedEvent.Type type, Long id,
+                          MovieSnapshot movie) {
+}
@@ -0,0 +1,102 @@
+package com.mms.changes;
+
+import com.mms.event.MovieChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded ring buffer of committed movie changes. Writers append in O(1) and never wait for
+ * readers: each reader keeps its own position and detects that it has been lapped from the
+ * sequence numbers, so a slow reader only ever loses history, never stalls a write.
+ *
+ * <p>Sequences are assigned when the commit callback runs, which for two transactions
+ * committing at the same instant may differ from the database's commit order.
+ */
+@Component
+public class MovieChangeLog {
+
+    private final AtomicReferenceArray<MovieChange> slots;
+    private final int mask;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    // Written under the monitor, read lock-free; a slot is always filled before it is published
+    private volatile long head;
+
+    public MovieChangeLog(ChangeStreamProperties properties) {
+        int capacity = Integer.highestOneBit(Math.max(2, properties.capacity()) * 2 - 1);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        append(event);
+    }
+
+    public MovieChange append(MovieChangedEvent event) {
+        MovieChange change;
+        synchronized (this) {
+            long sequence = head + 1;
+            change = new MovieChange(sequence, Instant.now(), event.type(), event.id(), event.movie());
+            slots.set((int) (sequence & mask), change);
+            head = sequence;
+        }
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+        return change;
+    }
+
+    /**
+     * Returns up to {@code max} retained changes with a sequence of at least {@code from}, in
+     * order. If {@code from} is older than the oldest retained change the result starts later
+     * than requested, which the caller detects by comparing the first sequence.
+     */
+    public List<MovieChange> read(long from, int max) {
+        while (true) {
+            long last = head;
+            long first = Math.max(from, oldestSequence(last));
+            List<MovieChange> changes = new ArrayList<>((int) Math.max(0, Math.min(max, last - first + 1)));
+            boolean lapped = false;
+            for (long sequence = first; sequence <= last && changes.size() < max; sequence++) {
+                MovieChange change = slots.get((int) (sequence & mask));
+                if (change.sequence() != sequence) {
+                    // Overwritten by writers while reading; retry from the new oldest change
+                    lapped = true;
+                    break;
+                }
+                changes.add(change);
+            }
+            if (!lapped) {
+                return changes;
+            }
+        }
+    }
+
+    public long headSequence() {
+        return head;
+    }
+
+    public long oldestSequence() {
+        return oldestSequence(head);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** Registers a callback run on the writer's thread after every append; it must not block. */
+    void onAppend(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private long oldestSequence(long last) {
+        return Math.max(1, last - mask);
+    }
+}
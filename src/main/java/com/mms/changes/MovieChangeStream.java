@@ -0,0 +1,233 @@
+package com.mms.changes;
+
+import com.mms.exception.TooManySubscribersException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events fan-out of the {@link MovieChangeLog}. Every subscriber reads the log
+ * from its own position on its own sender task, at most one at a time, so a client that
+ * reads slowly blocks only its own task. Once it falls more than the log capacity behind,
+ * the configured overflow policy decides whether it skips ahead or is disconnected.
+ *
+ * <p>Event ids are {@code <epoch>-<sequence>}; the epoch changes on restart, so a client
+ * resuming with a {@code Last-Event-ID} from an earlier run receives a {@code reset} event
+ * instead of silently missing the changes in between.
+ */
+@Component
+public class MovieChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieChangeStream.class);
+
+    private final MovieChangeLog changeLog;
+    private final ChangeStreamProperties properties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    public MovieChangeStream(MovieChangeLog changeLog, ChangeStreamProperties properties) {
+        this.changeLog = changeLog;
+        this.properties = properties;
+        this.senders = Executors.newCachedThreadPool(daemonThreads("movie-changes-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("movie-changes-heartbeat-"));
+        long heartbeatMillis = properties.heartbeat().toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        changeLog.onAppend(this::signalAll);
+    }
+
+    /**
+     * Opens a stream. {@code lastEventId} (sent by reconnecting EventSource clients) takes
+     * precedence over {@code from}, the first sequence wanted; without either the stream
+     * starts with the next change.
+     */
+    public SseEmitter subscribe(Long from, String lastEventId) {
+        if (subscribers.size() >= properties.maxSubscribers()) {
+            throw new TooManySubscribersException("Change stream subscriber limit of "
+                    + properties.maxSubscribers() + " reached");
+        }
+        long live = changeLog.headSequence() + 1;
+        Subscriber subscriber;
+        if (lastEventId != null) {
+            Long resumed = parseEventId(lastEventId);
+            subscriber = resumed != null ? new Subscriber(resumed + 1, false) : new Subscriber(live, true);
+        } else if (from != null) {
+            subscriber = new Subscriber(Math.max(1, from), false);
+        } else {
+            subscriber = new Subscriber(live, false);
+        }
+        subscribers.add(subscriber);
+        subscriber.signal();
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter.complete();
+        }
+        senders.shutdown();
+    }
+
+    private void signalAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.signal();
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.signal();
+        }
+    }
+
+    private Long parseEventId(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        // Set by the heartbeat timer; the first one also commits the response headers
+        private volatile boolean heartbeatDue = true;
+        // Only touched by the sender task, which never runs concurrently with itself
+        private long next;
+        private boolean resetDue;
+
+        Subscriber(long next, boolean resetDue) {
+            this.next = next;
+            this.resetDue = resetDue;
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> close());
+        }
+
+        void signal() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this);
+            } catch (RejectedExecutionException ex) {
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                drain();
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the emitter already completed
+                log.debug("Closing change stream subscriber: {}", ex.getMessage());
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // A change appended while this task was finishing found it still scheduled
+            if (!closed && (changeLog.headSequence() >= next || heartbeatDue)) {
+                signal();
+            }
+        }
+
+        private void drain() throws IOException {
+            Set<DataWithMediaType> batch = new LinkedHashSet<>();
+            if (resetDue) {
+                batch.addAll(SseEmitter.event().name("reset").data(Map.of("resumeFrom", next)).build());
+                resetDue = false;
+            }
+            List<MovieChange> changes = changeLog.read(next, properties.batchSize());
+            while (!changes.isEmpty() && !closed) {
+                long first = changes.get(0).sequence();
+                if (first > next) {
+                    long lost = first - next;
+                    dropped.addAndGet(lost);
+                    batch.addAll(SseEmitter.event().name("overflow")
+                            .data(Map.of("dropped", lost, "resumeFrom", first)).build());
+                    if (properties.overflowPolicy() == ChangeStreamProperties.OverflowPolicy.DISCONNECT) {
+                        emitter.send(batch);
+                        close();
+                        emitter.complete();
+                        return;
+                    }
+                }
+                for (MovieChange change : changes) {
+                    batch.addAll(SseEmitter.event()
+                            .id(epoch + "-" + change.sequence())
+                            .name(change.type().name().toLowerCase(Locale.ROOT))
+                            .data(change, MediaType.APPLICATION_JSON)
+                            .build());
+                }
+                next = changes.get(changes.size() - 1).sequence() + 1;
+                // One write and flush per batch
+                emitter.send(batch);
+                batch.clear();
+                heartbeatDue = false;
+                changes = changeLog.read(next, properties.batchSize());
+            }
+            if (heartbeatDue || !batch.isEmpty()) {
+                heartbeatDue = false;
+                batch.addAll(SseEmitter.event().comment("heartbeat").build());
+                emitter.send(batch);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
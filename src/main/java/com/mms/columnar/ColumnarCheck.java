@@ -0,0 +1,15 @@
+package com.mms.columnar;
+
+import java.util.List;
+
+/**
+ * Outcome of comparing the columnar index with the repository. {@code missing} movies exist
+ * only in the database, {@code extra} only in the index, and {@code mismatched} differ in
+ * some column; {@code sampleIds} lists the first few offending ids.
+ */
+public record ColumnarCheck(long checked, long missing, long extra, long mismatched, List<Long> sampleIds) {
+
+    public boolean consistent() {
+        return missing == 0 && extra == 0 && mismatched == 0;
+    }
+}
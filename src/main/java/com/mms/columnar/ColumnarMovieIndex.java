@@ -0,0 +1,697 @@
+package com.mms.columnar;
+
+import com.mms.dto.MovieField;
+import com.mms.dto.MovieSearchCriteria;
+import com.mms.dto.MovieView;
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.service.MovieService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.NullOrdering;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NullPrecedence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * The catalog mirrored into primitive columns: one array per attribute, indexed by row.
+ * Genres and directors are dictionary-encoded to int codes, each code owning a bitmap of
+ * its rows, so equality filters are bitmap unions and intersections. Year and rating
+ * ranges are tested against {@code int[]} and {@code double[]} columns without boxing, and
+ * row permutations sorted by id, release year and rating let a page stop as soon as it is
+ * full. The permutations are sorted once per build; after that a change moves only its own
+ * row, found by binary search.
+ *
+ * <p>Like the other read models it is built from the repository when the application is
+ * ready and then kept current from {@link MovieChangedEvent}s. Until the build completes,
+ * and for orders it cannot produce, queries return {@code null} and the caller asks the
+ * database. Version and update timestamp are not part of change events, so they are not
+ * mirrored: entity results are resolved by id, and only projections of the other fields
+ * are answered entirely from memory.
+ */
+@Component
+public class ColumnarMovieIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarMovieIndex.class);
+
+    private static final Set<MovieField> STORED_FIELDS = EnumSet.of(MovieField.ID, MovieField.TITLE,
+            MovieField.GENRE, MovieField.DIRECTOR, MovieField.RELEASE_YEAR, MovieField.RATING);
+    private static final double UNRATED = Double.NaN;
+    private static final int MAX_SAMPLE_IDS = 20;
+
+    private final ObjectProvider<MovieService> movieService;
+    private final boolean enabled;
+    private final NullOrdering nativeNullOrdering;
+
+    // Readers share the lock; writers take it exclusively
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private String[] titles;
+    private int[] genres;
+    private int[] directors;
+    private int[] releaseYears;
+    private double[] ratings;
+    private int rowCount;
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private final Dictionary genreDictionary = new Dictionary();
+    private final Dictionary directorDictionary = new Dictionary();
+
+    // Live rows ordered by (column, id); unrated rows are kept apart, in id order. While a
+    // build is loading rows the orders are stale and left alone, then sorted in one pass
+    private final SortedRows byId = new SortedRows((a, b) -> Long.compare(ids[a], ids[b]));
+    private final SortedRows byReleaseYear = new SortedRows((a, b) -> {
+        int compared = Integer.compare(releaseYears[a], releaseYears[b]);
+        return compared != 0 ? compared : Long.compare(ids[a], ids[b]);
+    });
+    private final SortedRows byRating = new SortedRows((a, b) -> {
+        int compared = Double.compare(ratings[a], ratings[b]);
+        return compared != 0 ? compared : Long.compare(ids[a], ids[b]);
+    });
+    private final SortedRows unratedById = new SortedRows((a, b) -> Long.compare(ids[a], ids[b]));
+    private boolean ordersStale = true;
+
+    private volatile boolean ready;
+    private Set<Long> changedDuringRebuild;
+
+    // MovieService serves reads from this index, so it is looked up on use. A provider rather
+    // than a @Lazy proxy: under Spring AOT that proxy clashes with MovieService's own
+    @Autowired
+    public ColumnarMovieIndex(ObjectProvider<MovieService> movieService, ColumnarProperties properties,
+                              EntityManagerFactory entityManagerFactory) {
+        this(movieService, properties, nativeNullOrdering(entityManagerFactory));
+    }
+
+    /**
+     * @param nativeNullOrdering where the database puts nulls for orders without explicit
+     *                           null handling; the index must place unrated movies the same way
+     */
+    public ColumnarMovieIndex(ObjectProvider<MovieService> movieService, ColumnarProperties properties,
+                              NullOrdering nativeNullOrdering) {
+        this.movieService = movieService;
+        this.enabled = properties.enabled();
+        this.nativeNullOrdering = nativeNullOrdering;
+        allocate(Math.max(16, properties.initialCapacity()));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            rowsById.clear();
+            live.clear();
+            rowCount = 0;
+            freeCount = 0;
+            genreDictionary.clear();
+            directorDictionary.clear();
+            ordersStale = true;
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        movieService.getObject().streamAllMovies(movie -> {
+            lock.writeLock().lock();
+            try {
+                // A change event that arrived during the scan is newer than the scanned row
+                if (!changedDuringRebuild.contains(movie.getId())) {
+                    put(MovieSnapshot.of(movie));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = null;
+            buildOrders();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Columnar movie index built: {} movies, {} genres, {} directors in {} ms", size(),
+                genreDictionary.size(), directorDictionary.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            MovieSnapshot movie = event.movie();
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.id());
+            }
+            if (movie == null) {
+                remove(event.id());
+            } else {
+                put(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the movies matching {@code criteria}, paged like the repository finders: a
+     * {@code Page} with totals when {@code withCount}, otherwise a {@code Slice}. Returns
+     * {@code null} when the index is not ready or cannot produce the requested order, which
+     * must be unsorted or a single order on {@code id}, {@code releaseYear} or {@code rating}.
+     */
+    public Slice<Long> findIds(MovieSearchCriteria criteria, Pageable pageable, boolean withCount) {
+        return page(criteria, pageable, withCount, row -> ids[row]);
+    }
+
+    /**
+     * Like {@link #findIds}, answering the projection straight from the columns. Also
+     * returns {@code null} when {@code fields} asks for a column the index does not hold.
+     */
+    public Slice<MovieView> findViews(MovieSearchCriteria criteria, Set<MovieField> fields, Pageable pageable,
+                                      boolean withCount) {
+        if (!STORED_FIELDS.containsAll(fields)) {
+            return null;
+        }
+        return page(criteria, pageable, withCount, row -> view(row, fields));
+    }
+
+    /** Ids of every movie matching {@code criteria}, in id order, or {@code null} when not ready. */
+    public List<Long> findAllIds(MovieSearchCriteria criteria) {
+        Result<Long> result = query(criteria, Sort.unsorted(), 0, Integer.MAX_VALUE, false, row -> ids[row]);
+        return result == null ? null : result.content();
+    }
+
+    /**
+     * Compares every column of every movie with the repository. Writes committed while the
+     * check runs can show up as transient mismatches.
+     */
+    public ColumnarCheck verify() {
+        Set<Long> seen = new HashSet<>();
+        List<Long> sample = new ArrayList<>();
+        long[] counts = new long[3];
+        movieService.getObject().streamAllMovies(movie -> {
+            MovieSnapshot actual;
+            lock.readLock().lock();
+            try {
+                Integer row = rowsById.get(movie.getId());
+                actual = row == null ? null : snapshot(row);
+            } finally {
+                lock.readLock().unlock();
+            }
+            counts[0]++;
+            seen.add(movie.getId());
+            if (actual == null) {
+                counts[1]++;
+                sample(sample, movie.getId());
+            } else if (!actual.equals(MovieSnapshot.of(movie))) {
+                counts[2]++;
+                sample(sample, movie.getId());
+            }
+        });
+        long extra = 0;
+        lock.readLock().lock();
+        try {
+            for (Long id : rowsById.keySet()) {
+                if (!seen.contains(id)) {
+                    extra++;
+                    sample(sample, id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        ColumnarCheck check = new ColumnarCheck(counts[0], counts[1], extra, counts[2], List.copyOf(sample));
+        if (!check.consistent()) {
+            log.warn("Columnar movie index differs from the repository: {}", check);
+        }
+        return check;
+    }
+
+    private <T> Slice<T> page(MovieSearchCriteria criteria, Pageable pageable, boolean withCount,
+                              IntFunction<T> mapper) {
+        Result<T> result = query(criteria, pageable.getSort(), pageable.getOffset(), pageable.getPageSize(),
+                withCount, mapper);
+        if (result == null) {
+            return null;
+        }
+        return withCount
+                ? new PageImpl<>(result.content(), pageable, result.total())
+                : new SliceImpl<>(result.content(), pageable, result.hasNext());
+    }
+
+    private record Result<T>(List<T> content, boolean hasNext, long total) {
+    }
+
+    private <T> Result<T> query(MovieSearchCriteria criteria, Sort sort, long offset, int limit, boolean count,
+                                IntFunction<T> mapper) {
+        if (!ready || sort.stream().count() > 1) {
+            return null;
+        }
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        if (!List.of("id", "releaseYear", "rating").contains(order.getProperty())) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(criteria);
+            RowFilter filter = RowFilter.of(criteria);
+            boolean descending = order.isDescending();
+            List<T> content = new ArrayList<>(Math.min(limit, 1024));
+            long matched = 0;
+            boolean hasNext = false;
+            scan:
+            for (SortedRows segment : segments(order)) {
+                int length = segment.size();
+                for (int i = 0; i < length; i++) {
+                    int row = segment.get(descending ? length - 1 - i : i);
+                    if (!candidates.get(row) || !matches(row, filter)) {
+                        continue;
+                    }
+                    if (matched >= offset) {
+                        if (content.size() < limit) {
+                            content.add(mapper.apply(row));
+                        } else {
+                            hasNext = true;
+                            if (!count) {
+                                break scan;
+                            }
+                        }
+                    }
+                    matched++;
+                }
+            }
+            return new Result<>(content, hasNext, matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Segments in visiting order, each walked back to front for descending orders. Without
+    // explicit null handling unrated movies go where the database puts nulls
+    private SortedRows[] segments(Sort.Order order) {
+        return switch (order.getProperty()) {
+            case "releaseYear" -> new SortedRows[]{byReleaseYear};
+            case "rating" -> {
+                boolean unratedFirst = switch (order.getNullHandling()) {
+                    case NULLS_FIRST -> true;
+                    case NULLS_LAST -> false;
+                    case NATIVE -> switch (nativeNullOrdering) {
+                        case SMALLEST -> order.isAscending();
+                        case GREATEST -> order.isDescending();
+                        case FIRST -> true;
+                        case LAST -> false;
+                    };
+                };
+                yield unratedFirst ? new SortedRows[]{unratedById, byRating} : new SortedRows[]{byRating, unratedById};
+            }
+            default -> new SortedRows[]{byId};
+        };
+    }
+
+    // A configured hibernate.order_by.default_null_ordering applies to every order; otherwise
+    // the dialect decides
+    private static NullOrdering nativeNullOrdering(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        NullPrecedence precedence = sessionFactory.getSessionFactoryOptions().getDefaultNullPrecedence();
+        if (precedence == NullPrecedence.FIRST) {
+            return NullOrdering.FIRST;
+        }
+        if (precedence == NullPrecedence.LAST) {
+            return NullOrdering.LAST;
+        }
+        return sessionFactory.getJdbcServices().getDialect().getNullOrdering();
+    }
+
+    private BitSet candidates(MovieSearchCriteria criteria) {
+        BitSet rows = criteria.genre().isEmpty() ? (BitSet) live.clone() : genreDictionary.union(criteria.genre());
+        if (!criteria.director().isEmpty()) {
+            rows.and(directorDictionary.union(criteria.director()));
+        }
+        return rows;
+    }
+
+    private record RowFilter(int yearFrom, int yearTo, boolean ratingBounded, double minRating, double maxRating,
+                             String title) {
+
+        static RowFilter of(MovieSearchCriteria criteria) {
+            return new RowFilter(
+                    criteria.yearFrom() == null ? Integer.MIN_VALUE : criteria.yearFrom(),
+                    criteria.yearTo() == null ? Integer.MAX_VALUE : criteria.yearTo(),
+                    criteria.minRating() != null || criteria.maxRating() != null,
+                    criteria.minRating() == null ? Double.NEGATIVE_INFINITY : criteria.minRating(),
+                    criteria.maxRating() == null ? Double.POSITIVE_INFINITY : criteria.maxRating(),
+                    criteria.title() == null || criteria.title().isBlank() ? null : criteria.title());
+        }
+    }
+
+    private boolean matches(int row, RowFilter filter) {
+        int releaseYear = releaseYears[row];
+        if (releaseYear < filter.yearFrom() || releaseYear > filter.yearTo()) {
+            return false;
+        }
+        if (filter.ratingBounded()) {
+            // NaN fails both comparisons, so unrated movies never match a rating bound
+            double rating = ratings[row];
+            if (!(rating >= filter.minRating() && rating <= filter.maxRating())) {
+                return false;
+            }
+        }
+        return filter.title() == null || filter.title().equals(titles[row]);
+    }
+
+    private MovieView view(int row, Set<MovieField> fields) {
+        return new MovieView(fields,
+                fields.contains(MovieField.ID) ? ids[row] : null,
+                fields.contains(MovieField.TITLE) ? titles[row] : null,
+                fields.contains(MovieField.GENRE) ? genreDictionary.value(genres[row]) : null,
+                fields.contains(MovieField.DIRECTOR) ? directorDictionary.value(directors[row]) : null,
+                fields.contains(MovieField.RELEASE_YEAR) ? releaseYears[row] : null,
+                fields.contains(MovieField.RATING) ? rating(row) : null,
+                null,
+                null);
+    }
+
+    private MovieSnapshot snapshot(int row) {
+        return new MovieSnapshot(ids[row], titles[row], genreDictionary.value(genres[row]),
+                directorDictionary.value(directors[row]), releaseYears[row], rating(row));
+    }
+
+    private Double rating(int row) {
+        double rating = ratings[row];
+        return Double.isNaN(rating) ? null : rating;
+    }
+
+    private void put(MovieSnapshot movie) {
+        Integer existing = rowsById.get(movie.id());
+        double rating = movie.rating() == null ? UNRATED : movie.rating();
+        // Only the orders whose sort key changes need the row moved
+        boolean releaseYearMoved = true;
+        boolean ratingMoved = true;
+        int row;
+        if (existing != null) {
+            row = existing;
+            genreDictionary.rows(genres[row]).clear(row);
+            directorDictionary.rows(directors[row]).clear(row);
+            releaseYearMoved = releaseYears[row] != movie.releaseYear();
+            ratingMoved = Double.compare(ratings[row], rating) != 0;
+            if (!ordersStale) {
+                if (releaseYearMoved) {
+                    byReleaseYear.remove(row);
+                }
+                if (ratingMoved) {
+                    ratingOrder(row).remove(row);
+                }
+            }
+        } else {
+            row = freeCount > 0 ? freeRows[--freeCount] : nextRow();
+            rowsById.put(movie.id(), row);
+            live.set(row);
+        }
+        ids[row] = movie.id();
+        titles[row] = movie.title();
+        genres[row] = genreDictionary.code(movie.genre());
+        directors[row] = directorDictionary.code(movie.director());
+        releaseYears[row] = movie.releaseYear();
+        ratings[row] = rating;
+        genreDictionary.rows(genres[row]).set(row);
+        directorDictionary.rows(directors[row]).set(row);
+        if (!ordersStale) {
+            if (existing == null) {
+                byId.insert(row);
+            }
+            if (releaseYearMoved) {
+                byReleaseYear.insert(row);
+            }
+            if (ratingMoved) {
+                ratingOrder(row).insert(row);
+            }
+        }
+    }
+
+    private void remove(Long id) {
+        Integer row = rowsById.remove(id);
+        if (row == null) {
+            return;
+        }
+        live.clear(row);
+        genreDictionary.rows(genres[row]).clear(row);
+        directorDictionary.rows(directors[row]).clear(row);
+        titles[row] = null;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+        if (!ordersStale) {
+            byId.remove(row);
+            byReleaseYear.remove(row);
+            ratingOrder(row).remove(row);
+        }
+    }
+
+    // Rated rows are ordered by rating, unrated ones by id
+    private SortedRows ratingOrder(int row) {
+        return Double.isNaN(ratings[row]) ? unratedById : byRating;
+    }
+
+    private int nextRow() {
+        if (rowCount == ids.length) {
+            allocate(ids.length * 2);
+        }
+        return rowCount++;
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+        titles = titles == null ? new String[capacity] : Arrays.copyOf(titles, capacity);
+        genres = genres == null ? new int[capacity] : Arrays.copyOf(genres, capacity);
+        directors = directors == null ? new int[capacity] : Arrays.copyOf(directors, capacity);
+        releaseYears = releaseYears == null ? new int[capacity] : Arrays.copyOf(releaseYears, capacity);
+        ratings = ratings == null ? new double[capacity] : Arrays.copyOf(ratings, capacity);
+    }
+
+    private void buildOrders() {
+        int[] rows = live.stream().toArray();
+        int[] idOrder = sorted(rows, byId.order);
+        byId.reset(idOrder);
+        byReleaseYear.reset(sorted(idOrder, byReleaseYear.order));
+        int unrated = 0;
+        for (int row : idOrder) {
+            if (Double.isNaN(ratings[row])) {
+                unrated++;
+            }
+        }
+        int[] rated = new int[idOrder.length - unrated];
+        int[] unratedIds = new int[unrated];
+        int r = 0;
+        int u = 0;
+        for (int row : idOrder) {
+            if (Double.isNaN(ratings[row])) {
+                unratedIds[u++] = row;
+            } else {
+                rated[r++] = row;
+            }
+        }
+        byRating.reset(sorted(rated, byRating.order));
+        unratedById.reset(unratedIds);
+        ordersStale = false;
+    }
+
+    @FunctionalInterface
+    private interface RowOrder {
+        int compare(int a, int b);
+    }
+
+    // Bottom-up merge sort over row numbers; stable, and keeps the rows unboxed
+    private static int[] sorted(int[] rows, RowOrder order) {
+        int[] source = rows.clone();
+        int[] target = new int[source.length];
+        for (int width = 1; width < source.length; width *= 2) {
+            for (int low = 0; low < source.length; low += 2 * width) {
+                int middle = Math.min(low + width, source.length);
+                int high = Math.min(low + 2 * width, source.length);
+                int i = low;
+                int j = middle;
+                int k = low;
+                while (i < middle && j < high) {
+                    target[k++] = order.compare(source[j], source[i]) < 0 ? source[j++] : source[i++];
+                }
+                while (i < middle) {
+                    target[k++] = source[i++];
+                }
+                while (j < high) {
+                    target[k++] = source[j++];
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+
+    /**
+     * Rows sorted by a {@link RowOrder} that ends in the id, so every row has one position.
+     * A change shifts the rows after that position by one, without comparing them.
+     */
+    private static final class SortedRows {
+
+        private final RowOrder order;
+        private int[] rows = new int[0];
+        private int size;
+
+        SortedRows(RowOrder order) {
+            this.order = order;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return rows[index];
+        }
+
+        void reset(int[] sorted) {
+            rows = sorted;
+            size = sorted.length;
+        }
+
+        // The row's sort key must be in the columns already
+        void insert(int row) {
+            int at = position(row);
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(16, size * 2));
+            }
+            System.arraycopy(rows, at, rows, at + 1, size - at);
+            rows[at] = row;
+            size++;
+        }
+
+        // The row's sort key must still be in the columns
+        void remove(int row) {
+            int at = position(row);
+            if (at < size && rows[at] == row) {
+                System.arraycopy(rows, at + 1, rows, at, size - at - 1);
+                size--;
+            }
+        }
+
+        // The first position whose row does not sort before the given one
+        private int position(int row) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (order.compare(rows[middle], row) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static void sample(List<Long> sample, Long id) {
+        if (sample.size() < MAX_SAMPLE_IDS) {
+            sample.add(id);
+        }
+    }
+
+    /** Value dictionary of a string column; each code keeps the bitmap of its rows. */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<BitSet> rows = new ArrayList<>();
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+                rows.add(new BitSet());
+            }
+            return code;
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        BitSet rows(int code) {
+            return rows.get(code);
+        }
+
+        BitSet union(List<String> matching) {
+            BitSet union = new BitSet();
+            for (String value : matching) {
+                Integer code = codes.get(value);
+                if (code != null) {
+                    union.or(rows.get(code));
+                }
+            }
+            return union;
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mms.columnar;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * In-memory columnar read model ({@code mms.columnar.*}). Off by default: when enabled, the
+ * whole catalog is mirrored in memory and filter and search reads stop querying the table.
+ */
+@ConfigurationProperties(prefix = "mms.columnar")
+public record ColumnarProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1024") int initialCapacity) {
+}
@@ -0,0 +1,111 @@
+package com.mms.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.beanvalidation.BeanValidationEventListener;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.DuplicationStrategy;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Keeps Hibernate's pre-insert and pre-update bean validation as the safety net for every
+ * write, but lets a session that has already validated its entities opt out of it. The file
+ * importer validates rows in parallel before it writes them; re-validating each one
+ * serially on the writer thread during flush would only repeat that work.
+ */
+@Configuration
+public class EntityValidationConfig {
+
+    /** Session property marking a session whose entities were validated before being written. */
+    public static final String PREVALIDATED = "mms.validation.prevalidated";
+
+    @Bean
+    public HibernatePropertiesCustomizer prevalidatedSessionCustomizer() {
+        IntegratorProvider integrators = () -> List.of(new SkippableValidationIntegrator());
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER, integrators);
+    }
+
+    /**
+     * Skips entity validation for the rest of the current transaction's session. Only for
+     * callers that have validated everything they write in it.
+     */
+    public static void skipEntityValidation(EntityManager entityManager) {
+        entityManager.setProperty(PREVALIDATED, Boolean.TRUE);
+    }
+
+    // Runs after Hibernate's own integrators and wraps the validation listener they registered
+    private static final class SkippableValidationIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            wrap(registry.getEventListenerGroup(EventType.PRE_INSERT));
+            wrap(registry.getEventListenerGroup(EventType.PRE_UPDATE));
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+
+        private static <T> void wrap(EventListenerGroup<T> group) {
+            for (T listener : group.listeners()) {
+                if (listener instanceof BeanValidationEventListener validation) {
+                    group.addDuplicationStrategy(REPLACE_VALIDATION);
+                    @SuppressWarnings("unchecked")
+                    T skippable = (T) new SkippableValidationListener(validation);
+                    group.appendListener(skippable);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final DuplicationStrategy REPLACE_VALIDATION = new DuplicationStrategy() {
+
+        @Override
+        public boolean areMatch(Object listener, Object original) {
+            return original instanceof BeanValidationEventListener;
+        }
+
+        @Override
+        public Action getAction() {
+            return Action.REPLACE_ORIGINAL;
+        }
+    };
+
+    private record SkippableValidationListener(BeanValidationEventListener delegate)
+            implements PreInsertEventListener, PreUpdateEventListener {
+
+        @Override
+        public boolean onPreInsert(PreInsertEvent event) {
+            return !prevalidated(event.getSession()) && delegate.onPreInsert(event);
+        }
+
+        @Override
+        public boolean onPreUpdate(PreUpdateEvent event) {
+            return !prevalidated(event.getSession()) && delegate.onPreUpdate(event);
+        }
+
+        private static boolean prevalidated(EventSource session) {
+            return Boolean.TRUE.equals(session.getProperties().get(PREVALIDATED));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mms.config;
+
+import com.mms.ratelimit.AdaptiveConcurrencyLimiter;
+import com.mms.ratelimit.ConcurrencyLimitFilter;
+import com.mms.ratelimit.MovieServiceLatencyAspect;
+import com.mms.ratelimit.RateLimitFilter;
+import com.mms.ratelimit.RateLimitProperties;
+import com.mms.ratelimit.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Protects {@code /api/*} in two stages, both ahead of the virtual-thread bulkhead: per-client
+ * token buckets answer 429 to clients over their rate ({@code mms.rate-limit.*}), then the
+ * adaptive concurrency limit answers 503 when MovieService latency says the database is
+ * saturated ({@code mms.concurrency-limit.*}).
+ */
+@Configuration
+public class LoadSheddingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mms.rate-limit.enabled", havingValue = "true")
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter,
+                                                                   RateLimitProperties properties) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimiter, properties.clientIdHeader()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mms.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 8);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mms.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public MovieServiceLatencyAspect movieServiceLatencyAspect(AdaptiveConcurrencyLimiter limiter) {
+        return new MovieServiceLatencyAspect(limiter);
+    }
+}
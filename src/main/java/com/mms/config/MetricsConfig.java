@@ -0,0 +1,112 @@
+package com.mms.config;
+
+import com.mms.cache.MovieCache;
+import com.mms.changes.MovieChangeLog;
+import com.mms.changes.MovieChangeStream;
+import com.mms.ratelimit.AdaptiveConcurrencyLimiter;
+import com.mms.ratelimit.RateLimiter;
+import com.mms.search.MovieTextIndex;
+import com.mms.writebehind.WriteBehindQueue;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics on top of what Actuator records by itself (HTTP requests, Hikari,
+ * Hibernate statistics, JVM): {@code @Timed} service methods and gauges for the in-memory
+ * structures.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder movieCacheMetrics(MovieCache movieCache) {
+        return movieCache::bindMetrics;
+    }
+
+    @Bean
+    public MeterBinder movieTextIndexMetrics(MovieTextIndex movieTextIndex) {
+        return registry -> Gauge.builder("mms.search.text.documents", movieTextIndex, MovieTextIndex::size)
+                .description("Movies in the full-text index")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder movieChangeStreamMetrics(MovieChangeLog movieChangeLog, MovieChangeStream movieChangeStream) {
+        return registry -> {
+            Gauge.builder("mms.changes.sequence", movieChangeLog, MovieChangeLog::headSequence)
+                    .description("Sequence of the latest change in the change log")
+                    .register(registry);
+            Gauge.builder("mms.changes.subscribers", movieChangeStream, MovieChangeStream::subscriberCount)
+                    .description("Open change stream subscriptions")
+                    .register(registry);
+            FunctionCounter.builder("mms.changes.dropped", movieChangeStream, MovieChangeStream::droppedCount)
+                    .description("Changes skipped by subscribers that fell behind the change log")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder writeBehindMetrics(WriteBehindQueue writeBehindQueue) {
+        return registry -> {
+            Gauge.builder("mms.writes.queue.depth", writeBehindQueue, WriteBehindQueue::depth)
+                    .description("Writes waiting in the write-behind queue")
+                    .register(registry);
+            FunctionCounter.builder("mms.writes.accepted", writeBehindQueue, WriteBehindQueue::acceptedCount)
+                    .description("Writes accepted into the write-behind queue")
+                    .register(registry);
+            FunctionCounter.builder("mms.writes.rejected", writeBehindQueue, WriteBehindQueue::rejectedCount)
+                    .description("Writes rejected because the write-behind queue was full")
+                    .register(registry);
+            FunctionCounter.builder("mms.writes.committed", writeBehindQueue, WriteBehindQueue::committedCount)
+                    .description("Queued writes committed")
+                    .register(registry);
+            FunctionCounter.builder("mms.writes.failed", writeBehindQueue, WriteBehindQueue::failedCount)
+                    .description("Queued writes that could not be committed")
+                    .register(registry);
+            FunctionCounter.builder("mms.writes.batches", writeBehindQueue, WriteBehindQueue::batchCount)
+                    .description("Transactions used to commit queued writes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loadSheddingMetrics(RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return registry -> {
+            FunctionCounter.builder("mms.ratelimit.rejected", rateLimiter, RateLimiter::clientRejectionCount)
+                    .description("Requests rejected with 429 by a rate limit")
+                    .tag("limit", "client")
+                    .register(registry);
+            FunctionCounter.builder("mms.ratelimit.rejected", rateLimiter, RateLimiter::endpointRejectionCount)
+                    .description("Requests rejected with 429 by a rate limit")
+                    .tag("limit", "endpoint")
+                    .register(registry);
+            Gauge.builder("mms.ratelimit.buckets", rateLimiter, RateLimiter::trackedBuckets)
+                    .description("Token buckets currently tracked")
+                    .register(registry);
+            Gauge.builder("mms.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .register(registry);
+            Gauge.builder("mms.concurrency.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::inFlight)
+                    .description("API requests holding a concurrency permit")
+                    .register(registry);
+            Gauge.builder("mms.concurrency.latency", concurrencyLimiter,
+                            AdaptiveConcurrencyLimiter::smoothedLatencyMillis)
+                    .description("Smoothed MovieService latency driving the concurrency limit")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            FunctionCounter.builder("mms.concurrency.shed", concurrencyLimiter, AdaptiveConcurrencyLimiter::shedCount)
+                    .description("Requests rejected with 503 by the concurrency limit")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.mms.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true} (Java 21+). Spring Boot then runs
+ * Tomcat requests, and with them the {@code @Transactional} service calls, on virtual
+ * threads; this configuration adds the bulkhead that keeps them from swamping the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // Server-Sent Events hold no connection while open; MovieChangeStream bounds them itself
+    private static final Set<String> UNBOUNDED_PATHS = Set.of("/api/movies/changes");
+
+    @Bean
+    public FilterRegistrationBean<DatabaseBulkheadFilter> databaseBulkheadFilter(DataSource dataSource,
+                                                                                 VirtualThreadProperties properties) {
+        int maxConcurrentRequests = properties.maxConcurrentRequests();
+        if (maxConcurrentRequests <= 0) {
+            // Unwraps the read/write routing proxy too; the bound follows the primary pool
+            HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class,
+                    HikariDataSource.class);
+            int poolSize = hikari != null ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+            maxConcurrentRequests = poolSize * properties.requestsPerConnection();
+        }
+        log.info("Virtual threads enabled; limiting API concurrency to {} requests", maxConcurrentRequests);
+
+        FilterRegistrationBean<DatabaseBulkheadFilter> registration = new FilterRegistrationBean<>(
+                new DatabaseBulkheadFilter(maxConcurrentRequests, properties.acquireTimeout(), UNBOUNDED_PATHS));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,18 @@
+package com.mms.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Guard for virtual-thread mode ({@code mms.virtual-threads.*}). {@code maxConcurrentRequests}
+ * caps the API requests in flight at once; 0 derives it from the connection pool size,
+ * {@code requestsPerConnection} requests per connection.
+ */
+@ConfigurationProperties(prefix = "mms.virtual-threads")
+public record VirtualThreadProperties(
+        @DefaultValue("0") int maxConcurrentRequests,
+        @DefaultValue("1") int requestsPerConnection,
+        @DefaultValue("1s") Duration acquireTimeout) {
+}
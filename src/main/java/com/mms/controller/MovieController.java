@@ -1,49 +1,302 @@
 package com.mms.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mms.cache.MovieCacheStats;
+import com.mms.changes.MovieChangeStream;
+import com.mms.columnar.ColumnarCheck;
+import com.mms.columnar.ColumnarMovieIndex;
+import com.mms.dto.BulkResult;
+import com.mms.dto.CursorPage;
+import com.mms.dto.MovieField;
+import com.mms.dto.MoviePatch;
+import com.mms.dto.MovieSearchCriteria;
+import com.mms.dto.MovieSortKey;
+import com.mms.dto.MovieVersion;
+import com.mms.dto.PageResponse;
 import com.mms.entity.Movie;
+import com.mms.event.MovieChangeCounter;
+import com.mms.exception.BadRequestException;
+import com.mms.exception.PreconditionFailedException;
+import com.mms.exception.PreconditionRequiredException;
+import com.mms.export.MovieExporter;
+import com.mms.search.MovieTextIndex;
+import com.mms.search.TextSearchHit;
+import com.mms.service.MovieBulkService;
 import com.mms.service.MovieService;
+import com.mms.stats.GroupStats;
+import com.mms.stats.MovieRankings;
+import com.mms.stats.MovieStatistics;
+import com.mms.stats.MovieStats;
+import com.mms.stats.RankedMovie;
+import com.mms.stats.StatsDimension;
+import com.mms.writebehind.WriteBehindQueue;
+import com.mms.writebehind.WriteStatus;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/movies")
 @CrossOrigin(origins = "*")
 public class MovieController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+    private static final int MAX_TEXT_SEARCH_LIMIT = 100;
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final MovieService movieService;
+    private final MovieBulkService movieBulkService;
+    private final MovieTextIndex movieTextIndex;
+    private final MovieChangeCounter movieChangeCounter;
+    private final MovieChangeStream movieChangeStream;
+    private final MovieStatistics movieStatistics;
+    private final MovieRankings movieRankings;
+    private final MovieExporter movieExporter;
+    private final WriteBehindQueue writeBehindQueue;
+    private final ColumnarMovieIndex columnarIndex;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, MovieBulkService movieBulkService,
+                           MovieTextIndex movieTextIndex, MovieChangeCounter movieChangeCounter,
+                           MovieChangeStream movieChangeStream, MovieStatistics movieStatistics,
+                           MovieRankings movieRankings,
+                           MovieExporter movieExporter, WriteBehindQueue writeBehindQueue,
+                           ColumnarMovieIndex columnarIndex, ObjectMapper objectMapper) {
         this.movieService = movieService;
+        this.movieBulkService = movieBulkService;
+        this.movieTextIndex = movieTextIndex;
+        this.movieChangeCounter = movieChangeCounter;
+        this.movieChangeStream = movieChangeStream;
+        this.movieStatistics = movieStatistics;
+        this.movieRankings = movieRankings;
+        this.movieExporter = movieExporter;
+        this.writeBehindQueue = writeBehindQueue;
+        this.columnarIndex = columnarIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Keyset-paginated listing. With {@code ?fields=id,title,...} only those columns are
+     * selected and rendered, skipping entity hydration; the same applies to the filter
+     * endpoints below.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPage<?>> getAllMovies(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                                      @RequestParam(required = false) String sort,
+                                                      @RequestParam(required = false) String fields,
+                                                      WebRequest request) {
+        MovieSortKey sortKey = MovieSortKey.fromParameter(sort);
+        Set<MovieField> selected = MovieField.parse(fields);
+        return conditionalCollection(request, () -> selected == null
+                ? movieService.getMoviesPage(sortKey, cursor, size)
+                : movieService.getMovieViewsPage(sortKey, cursor, size, selected));
     }
 
-    @GetMapping
-    public ResponseEntity<List<Movie>> getAllMovies() {
-        List<Movie> movies = movieService.getAllMovies();
-        return ResponseEntity.ok(movies);
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMovies() {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                movieService.streamAllMovies(movie -> {
+                    try {
+                        writer.writeValue(generator, movie);
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
+    /**
+     * Full catalog in the compact columnar format (see {@code ColumnarMovieWriter}), streamed
+     * from a database cursor. Gzipped when the client accepts it, unless {@code compress=false}.
+     */
+    @GetMapping(value = "/export", produces = MovieExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportMovies(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(defaultValue = "true") boolean compress) {
+        boolean gzip = compress && acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                // Closing the gzip stream releases its native Deflater; the servlet stream stays open
+                try (GZIPOutputStream compressed = new GZIPOutputStream(StreamUtils.nonClosing(outputStream),
+                        EXPORT_BUFFER_SIZE)) {
+                    movieExporter.export(compressed);
+                }
+            } else {
+                BufferedOutputStream buffered = new BufferedOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+                movieExporter.export(buffered);
+                buffered.flush();
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MovieExporter.MEDIA_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies.mmsc\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Conditional requests are answered from the version alone: a matching If-None-Match
+     * (or, failing that, If-Modified-Since) yields 304 without loading the movie.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Movie> getMovieById(@PathVariable Long id) {
+    public ResponseEntity<Movie> getMovieById(@PathVariable Long id, WebRequest request) {
+        if (isConditional(request)) {
+            MovieVersion current = movieService.getMovieVersion(id);
+            if (request.checkNotModified(current.etag(), current.lastModifiedMillis())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(current.etag())
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+        }
         Movie movie = movieService.getMovieById(id);
-        return ResponseEntity.ok(movie);
+        return withValidators(ResponseEntity.ok(), movie).body(movie);
+    }
+
+    /**
+     * Live feed of committed changes as Server-Sent Events. Resume with {@code Last-Event-ID}
+     * or {@code ?from=<sequence>}; {@code overflow} and {@code reset} events tell the client
+     * that changes were missed and it should resync.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long from,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return movieChangeStream.subscribe(from, lastEventId);
+    }
+
+    /**
+     * Counts and average ratings overall and per genre, director and release year, served
+     * from incrementally maintained in-memory aggregates; 503 until they are built.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<MovieStats> getStats() {
+        return ResponseEntity.ok(movieStatistics.stats());
+    }
+
+    @GetMapping("/stats/{dimension}/{key}")
+    public ResponseEntity<GroupStats> getGroupStats(@PathVariable String dimension, @PathVariable String key) {
+        return ResponseEntity.ok(movieStatistics.stats(StatsDimension.fromParameter(dimension), key));
+    }
+
+    /**
+     * Highest rated movies, overall or within one genre, director or release year, read from
+     * incrementally maintained rankings; 503 until they are built.
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<RankedMovie>> getTopRated(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(movieRankings.top(limit));
     }
 
+    @GetMapping("/top/{dimension}/{key}")
+    public ResponseEntity<List<RankedMovie>> getTopRated(@PathVariable String dimension, @PathVariable String key,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(movieRankings.top(StatsDimension.fromParameter(dimension), key, limit));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<MovieCacheStats> getCacheStats() {
+        return ResponseEntity.ok(movieService.getCacheStats());
+    }
+
+    /**
+     * Compares the columnar read model ({@code mms.columnar.enabled}) with the database;
+     * 404 when it is disabled.
+     */
+    @GetMapping("/columnar/check")
+    public ResponseEntity<ColumnarCheck> checkColumnarIndex() {
+        if (!columnarIndex.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(columnarIndex.verify());
+    }
+
+    /**
+     * Creates a movie. In write-behind mode ({@code mms.write-behind.enabled}) the validated
+     * movie is queued instead and the answer is {@code 202 Accepted} with the write's status
+     * resource in {@code Location}.
+     */
     @PostMapping
-    public ResponseEntity<Movie> createMovie(@Valid @RequestBody Movie movie) {
+    public ResponseEntity<?> createMovie(@Valid @RequestBody Movie movie) {
+        if (writeBehindQueue.isEnabled()) {
+            WriteStatus queued = writeBehindQueue.submit(movie);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/movies/writes/" + queued.trackingId()))
+                    .body(queued);
+        }
         Movie createdMovie = movieService.createMovie(movie);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdMovie);
+        return withValidators(ResponseEntity.status(HttpStatus.CREATED), createdMovie).body(createdMovie);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Movie> updateMovie(@PathVariable Long id, @Valid @RequestBody Movie movieDetails) {
         Movie updatedMovie = movieService.updateMovie(id, movieDetails);
-        return ResponseEntity.ok(updatedMovie);
+        return withValidators(ResponseEntity.ok(), updatedMovie).body(updatedMovie);
+    }
+
+    /**
+     * Partial update with JSON merge patch semantics: absent fields are left unchanged and
+     * {@code null} clears a field, which only the rating allows. Requires {@code If-Match}
+     * with the ETag of a previous read and answers 412 if the movie has been modified since.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchMovie(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @RequestBody JsonNode body) {
+        MovieVersion updated = movieService.patchMovie(id, expectedVersion(ifMatch),
+                MoviePatch.fromJson(body, objectMapper));
+        return ResponseEntity.noContent()
+                .eTag(updated.etag())
+                .lastModified(updated.updatedAt())
+                .build();
     }
 
     @DeleteMapping("/{id}")
@@ -52,28 +305,189 @@ public class MovieController {
         return ResponseEntity.noContent().build();
     }
 
+    // Bulk endpoints accept either a JSON array or NDJSON (one item per line). Items are
+    // read from the body as a stream, so large payloads are never materialized as one list.
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> createMovies(InputStream body) throws IOException {
+        BulkResult result = movieBulkService.createMovies(readItems(body, Movie.class));
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> updateMovies(InputStream body) throws IOException {
+        BulkResult result = movieBulkService.updateMovies(readItems(body, Movie.class));
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> deleteMovies(InputStream body) throws IOException {
+        BulkResult result = movieBulkService.deleteMovies(readItems(body, Long.class));
+        return ResponseEntity.ok(result);
+    }
+
+    // Filter endpoints are paginated: page/size/sort follow Spring Data conventions
+    // (e.g. ?page=2&size=20&sort=rating,desc). Totals are only computed with count=true.
+
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<List<Movie>> getMoviesByGenre(@PathVariable String genre) {
-        List<Movie> movies = movieService.getMoviesByGenre(genre);
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<PageResponse<?>> getMoviesByGenre(@PathVariable String genre,
+                                                            @PageableDefault(size = DEFAULT_PAGE_SIZE) Pageable pageable,
+                                                            @RequestParam(defaultValue = "false") boolean count,
+                                                            @RequestParam(required = false) String fields,
+                                                            WebRequest request) {
+        return filteredCollection(request, fields, MovieSearchCriteria.byGenre(genre),
+                pageable, count, () -> movieService.getMoviesByGenre(genre, pageable, count));
     }
 
     @GetMapping("/director/{director}")
-    public ResponseEntity<List<Movie>> getMoviesByDirector(@PathVariable String director) {
-        List<Movie> movies = movieService.getMoviesByDirector(director);
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<PageResponse<?>> getMoviesByDirector(@PathVariable String director,
+                                                               @PageableDefault(size = DEFAULT_PAGE_SIZE) Pageable pageable,
+                                                               @RequestParam(defaultValue = "false") boolean count,
+                                                               @RequestParam(required = false) String fields,
+                                                               WebRequest request) {
+        return filteredCollection(request, fields, MovieSearchCriteria.byDirector(director),
+                pageable, count, () -> movieService.getMoviesByDirector(director, pageable, count));
     }
 
     @GetMapping("/year/{releaseYear}")
-    public ResponseEntity<List<Movie>> getMoviesByReleaseYear(@PathVariable Integer releaseYear) {
-        List<Movie> movies = movieService.getMoviesByReleaseYear(releaseYear);
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<PageResponse<?>> getMoviesByReleaseYear(@PathVariable Integer releaseYear,
+                                                                  @PageableDefault(size = DEFAULT_PAGE_SIZE) Pageable pageable,
+                                                                  @RequestParam(defaultValue = "false") boolean count,
+                                                                  @RequestParam(required = false) String fields,
+                                                                  WebRequest request) {
+        return filteredCollection(request, fields, MovieSearchCriteria.byReleaseYear(releaseYear),
+                pageable, count, () -> movieService.getMoviesByReleaseYear(releaseYear, pageable, count));
     }
 
     @GetMapping("/rating/{rating}")
-    public ResponseEntity<List<Movie>> getMoviesByRating(@PathVariable Double rating) {
-        List<Movie> movies = movieService.getMoviesByRatingGreaterThanEqual(rating);
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<PageResponse<?>> getMoviesByRating(@PathVariable Double rating,
+                                                             @PageableDefault(size = DEFAULT_PAGE_SIZE) Pageable pageable,
+                                                             @RequestParam(defaultValue = "false") boolean count,
+                                                             @RequestParam(required = false) String fields,
+                                                             WebRequest request) {
+        return filteredCollection(request, fields, MovieSearchCriteria.byMinRating(rating),
+                pageable, count, () -> movieService.getMoviesByRatingGreaterThanEqual(rating, pageable, count));
+    }
+
+    /**
+     * Combined filter, e.g. {@code ?genre=Drama&yearFrom=1990&yearTo=2000&minRating=8}.
+     * List criteria ({@code genre}, {@code director}) may be repeated or comma-separated.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<?>> searchMovies(MovieSearchCriteria criteria,
+                                                        @PageableDefault(size = DEFAULT_PAGE_SIZE) Pageable pageable,
+                                                        @RequestParam(defaultValue = "false") boolean count,
+                                                        @RequestParam(required = false) String fields,
+                                                        WebRequest request) {
+        return filteredCollection(request, fields, criteria, pageable, count,
+                () -> movieService.searchMovies(criteria, pageable, count));
+    }
+
+    /**
+     * Typeahead/full-text search over titles and directors, served from the in-memory
+     * index. The last term of {@code q} also matches as a prefix.
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<List<TextSearchHit>> searchText(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "10") int limit,
+                                                          @RequestParam(defaultValue = "true") boolean fuzzy) {
+        if (limit < 1 || limit > MAX_TEXT_SEARCH_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_TEXT_SEARCH_LIMIT);
+        }
+        return ResponseEntity.ok(movieTextIndex.search(q, limit, fuzzy));
+    }
+
+    // Collection responses are tagged with the change counter, read before the query runs
+    private <T> ResponseEntity<T> conditionalCollection(WebRequest request, Supplier<T> body) {
+        String etag = movieChangeCounter.etag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
+    }
+
+    // Entities from the endpoint's own finder, or a projection of the equivalent criteria
+    private ResponseEntity<PageResponse<?>> filteredCollection(WebRequest request, String fields,
+                                                              MovieSearchCriteria criteria, Pageable pageable,
+                                                              boolean count, Supplier<Slice<Movie>> entities) {
+        Set<MovieField> selected = MovieField.parse(fields);
+        return conditionalCollection(request, () -> selected == null
+                ? PageResponse.of(entities.get())
+                : PageResponse.of(movieService.searchMovieViews(criteria, selected, pageable, count)));
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, Movie movie) {
+        MovieVersion version = MovieVersion.of(movie);
+        if (version.version() != null) {
+            builder.eTag(version.etag());
+        }
+        if (version.updatedAt() != null) {
+            builder.lastModified(version.updatedAt());
+        }
+        return builder.cacheControl(CacheControl.noCache());
+    }
+
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            throw new PreconditionRequiredException("PATCH requires an If-Match header with the movie's current ETag");
+        }
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new BadRequestException("If-Match must carry a single entity tag");
+        }
+        // If-Match uses strong comparison, so a weak tag can never match
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("Weak entity tag " + tag + " cannot satisfy If-Match");
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("Entity tag " + ifMatch.trim() + " does not match the movie");
+        }
+    }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private <T> Iterator<T> readItems(InputStream body, Class<T> type) throws IOException {
+        MappingIterator<T> items = objectMapper.readerFor(type).readValues(body);
+        // MappingIterator wraps parse errors in plain RuntimeExceptions; surface them as bad input
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return items.hasNext();
+                } catch (RuntimeException ex) {
+                    throw malformedBody(ex);
+                }
+            }
+
+            @Override
+            public T next() {
+                try {
+                    return items.next();
+                } catch (RuntimeException ex) {
+                    throw malformedBody(ex);
+                }
+            }
+        };
     }
-}
 
+    private static RuntimeException malformedBody(RuntimeException ex) {
+        if (ex.getCause() instanceof JsonProcessingException cause) {
+            return new BadRequestException("Malformed request body: " + cause.getOriginalMessage(), cause);
+        }
+        return ex;
+    }
+}
@@ -0,0 +1,100 @@
+package com.mms.controller;
+
+import com.mms.entity.ImportJob;
+import com.mms.exception.BadRequestException;
+import com.mms.importer.ImportProgress;
+import com.mms.importer.MovieImporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Asynchronous file imports. Starting or resuming an import answers {@code 202 Accepted}
+ * with the status resource in {@code Location}; rejected rows are listed in the error report.
+ */
+@RestController
+@Lazy
+@RequestMapping("/api/movies/imports")
+@CrossOrigin(origins = "*")
+public class MovieImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final MovieImporter movieImporter;
+
+    @Autowired
+    public MovieImportController(MovieImporter movieImporter) {
+        this.movieImporter = movieImporter;
+    }
+
+    @PostMapping(consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportProgress> importUpload(@RequestHeader("Content-Type") MediaType contentType,
+                                                       InputStream body) throws IOException {
+        ImportJob.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? ImportJob.Format.NDJSON : ImportJob.Format.CSV;
+        return accepted(movieImporter.importUpload(body, format));
+    }
+
+    /** Imports a file already placed in {@code mms.import.directory}. */
+    @PostMapping(params = "file")
+    public ResponseEntity<ImportProgress> importFile(@RequestParam String file,
+                                                     @RequestParam(required = false) String format) throws IOException {
+        return accepted(movieImporter.importFile(file, formatOf(file, format)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportProgress> getImport(@PathVariable String id) {
+        return ResponseEntity.ok(ImportProgress.of(movieImporter.getJob(id)));
+    }
+
+    @GetMapping(value = "/{id}/errors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String id) {
+        Path report = movieImporter.errorReport(id);
+        if (!Files.exists(report)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(new FileSystemResource(report));
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ImportProgress> resumeImport(@PathVariable String id) {
+        return accepted(movieImporter.resume(id));
+    }
+
+    private static ResponseEntity<ImportProgress> accepted(ImportJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/movies/imports/" + job.getId()))
+                .body(ImportProgress.of(job));
+    }
+
+    private static ImportJob.Format formatOf(String file, String format) {
+        if (format != null) {
+            try {
+                return ImportJob.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unknown import format '" + format + "', expected csv or ndjson");
+            }
+        }
+        String name = file.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return ImportJob.Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return ImportJob.Format.NDJSON;
+        }
+        throw new BadRequestException("Cannot tell the format of " + file + ", pass format=csv or format=ndjson");
+    }
+}
@@ -0,0 +1,35 @@
+package com.mms.controller;
+
+import com.mms.writebehind.WriteBehindQueue;
+import com.mms.writebehind.WriteQueueStats;
+import com.mms.writebehind.WriteStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Status of writes accepted by {@code POST /api/movies} in write-behind mode, and of the
+ * queue they wait in.
+ */
+@RestController
+@RequestMapping("/api/movies/writes")
+@CrossOrigin(origins = "*")
+public class MovieWriteController {
+
+    private final WriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    public MovieWriteController(WriteBehindQueue writeBehindQueue) {
+        this.writeBehindQueue = writeBehindQueue;
+    }
+
+    @GetMapping
+    public ResponseEntity<WriteQueueStats> getQueueStats() {
+        return ResponseEntity.ok(writeBehindQueue.stats());
+    }
+
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<WriteStatus> getWriteStatus(@PathVariable String trackingId) {
+        return ResponseEntity.ok(writeBehindQueue.getStatus(trackingId));
+    }
+}
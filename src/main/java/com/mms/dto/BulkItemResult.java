@@ -0,0 +1,25 @@
+package com.mms.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Outcome of one item of a bulk request. {@code index} is the item's zero-based position in
+ * the request body; {@code errors} holds field validation messages for invalid items.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, Long id, BulkItemStatus status, Map<String, String> errors, String message) {
+
+    public static BulkItemResult of(int index, Long id, BulkItemStatus status) {
+        return new BulkItemResult(index, id, status, null, null);
+    }
+
+    public static BulkItemResult invalid(int index, Long id, Map<String, String> errors) {
+        return new BulkItemResult(index, id, BulkItemStatus.INVALID, errors, null);
+    }
+
+    public static BulkItemResult failed(int index, Long id, String message) {
+        return new BulkItemResult(index, id, BulkItemStatus.FAILED, null, message);
+    }
+}
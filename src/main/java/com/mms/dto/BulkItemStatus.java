@@ -0,0 +1,14 @@
+package com.mms.dto;
+
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INVALID,
+    NOT_FOUND,
+    FAILED;
+
+    public boolean isSuccess() {
+        return this == CREATED || this == UPDATED || this == DELETED;
+    }
+}
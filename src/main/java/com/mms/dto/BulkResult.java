@@ -0,0 +1,11 @@
+package com.mms.dto;
+
+import java.util.List;
+
+public record BulkResult(int total, int succeeded, int failed, List<BulkItemResult> items) {
+
+    public static BulkResult of(List<BulkItemResult> items) {
+        int succeeded = (int) items.stream().filter(item -> item.status().isSuccess()).count();
+        return new BulkResult(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
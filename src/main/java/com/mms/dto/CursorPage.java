@@ -0,0 +1,10 @@
+package com.mms.dto;
+
+import java.util.List;
+
+/**
+ * One window of a keyset-paginated listing. {@code nextCursor} is an opaque token that
+ * resumes the listing right after the last item and is {@code null} on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasNext) {
+}
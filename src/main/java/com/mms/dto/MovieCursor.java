@@ -0,0 +1,74 @@
+package com.mms.dto;
+
+import com.mms.entity.Movie;
+import com.mms.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Position of the last movie returned by a keyset page: the sort key, the value of the
+ * sorted column for that movie (absent for {@link MovieSortKey#ID} and unrated movies)
+ * and its id. Encoded as URL-safe Base64 so clients treat it as an opaque token.
+ */
+public record MovieCursor(MovieSortKey sort, String value, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static MovieCursor after(MovieSortKey sort, Movie movie) {
+        String value = switch (sort) {
+            case ID -> null;
+            case RATING -> movie.getRating() == null ? null : movie.getRating().toString();
+            case RELEASE_YEAR -> movie.getReleaseYear().toString();
+        };
+        return new MovieCursor(sort, value, movie.getId());
+    }
+
+    public static MovieCursor after(MovieSortKey sort, MovieView view) {
+        String value = switch (sort) {
+            case ID -> null;
+            case RATING -> view.rating() == null ? null : view.rating().toString();
+            case RELEASE_YEAR -> view.releaseYear().toString();
+        };
+        return new MovieCursor(sort, value, view.id());
+    }
+
+    public static MovieCursor decode(String token, MovieSortKey expectedSort) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            MovieSortKey sort = MovieSortKey.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Cursor was issued for sort " + sort.name().toLowerCase(Locale.ROOT));
+            }
+            String value = parts[1].isEmpty() ? null : parts[1];
+            MovieCursor cursor = new MovieCursor(sort, value, Long.parseLong(parts[2]));
+            // Parsed here so a tampered value is rejected now rather than when the query runs
+            switch (sort) {
+                case RATING -> cursor.ratingValue();
+                case RELEASE_YEAR -> cursor.releaseYearValue();
+                case ID -> { }
+            }
+            return cursor;
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor: " + ex.getMessage(), ex);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + ":" + (value == null ? "" : value) + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Double ratingValue() {
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    public Integer releaseYearValue() {
+        return Integer.valueOf(value);
+    }
+}
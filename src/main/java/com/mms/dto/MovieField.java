@@ -0,0 +1,64 @@
+package com.mms.dto;
+
+import com.mms.exception.BadRequestException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Movie attributes that can be selected with {@code ?fields=}. The property name is both the
+ * entity attribute and the JSON field.
+ */
+public enum MovieField {
+
+    ID("id"),
+    TITLE("title"),
+    GENRE("genre"),
+    DIRECTOR("director"),
+    RELEASE_YEAR("releaseYear"),
+    RATING("rating"),
+    VERSION("version"),
+    UPDATED_AT("updatedAt");
+
+    private final String property;
+
+    MovieField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    /**
+     * Parses a comma-separated field list such as {@code id,title,rating}. Returns
+     * {@code null} when the parameter is absent, meaning the full movie.
+     */
+    public static Set<MovieField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        EnumSet<MovieField> selected = EnumSet.noneOf(MovieField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(fromProperty(trimmed));
+        }
+        if (selected.isEmpty()) {
+            throw new BadRequestException("fields must name at least one field");
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    private static MovieField fromProperty(String name) {
+        for (MovieField field : values()) {
+            if (field.property.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unknown field: " + name);
+    }
+}
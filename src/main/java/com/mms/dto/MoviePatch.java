@@ -0,0 +1,46 @@
+package com.mms.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.entity.Movie;
+import com.mms.exception.BadRequestException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A JSON merge patch (RFC 7396) of a movie. {@code changes} carries the values to set and
+ * {@code cleared} the fields the body sets to an explicit {@code null}; fields absent from
+ * the body are in neither and stay unchanged. Binding the body straight to {@link Movie}
+ * would lose that distinction.
+ */
+public record MoviePatch(Movie changes, Set<MovieField> cleared) {
+
+    private static final Set<MovieField> WRITABLE = EnumSet.of(MovieField.TITLE, MovieField.GENRE,
+            MovieField.DIRECTOR, MovieField.RELEASE_YEAR, MovieField.RATING);
+
+    /** A patch that only sets values. */
+    public static MoviePatch of(Movie changes) {
+        return new MoviePatch(changes, Set.of());
+    }
+
+    public static MoviePatch fromJson(JsonNode body, ObjectMapper objectMapper) {
+        if (body == null || !body.isObject()) {
+            throw new BadRequestException("A movie patch must be a JSON object");
+        }
+        EnumSet<MovieField> cleared = EnumSet.noneOf(MovieField.class);
+        for (MovieField field : WRITABLE) {
+            JsonNode value = body.get(field.property());
+            if (value != null && value.isNull()) {
+                cleared.add(field);
+            }
+        }
+        try {
+            return new MoviePatch(objectMapper.treeToValue(body, Movie.class), Collections.unmodifiableSet(cleared));
+        } catch (JsonProcessingException ex) {
+            throw new BadRequestException("Malformed movie patch: " + ex.getOriginalMessage());
+        }
+    }
+}
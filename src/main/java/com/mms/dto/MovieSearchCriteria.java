@@ -0,0 +1,56 @@
+package com.mms.dto;
+
+import com.mms.exception.BadRequestException;
+
+import java.util.List;
+
+/**
+ * Filters accepted by the search endpoint. Every non-empty criterion narrows the result;
+ * list criteria match any of their values, ranges are inclusive and may be open-ended.
+ */
+public record MovieSearchCriteria(
+        List<String> genre,
+        List<String> director,
+        String title,
+        Integer yearFrom,
+        Integer yearTo,
+        Double minRating,
+        Double maxRating) {
+
+    public static final int MAX_LIST_VALUES = 100;
+
+    public MovieSearchCriteria {
+        genre = genre == null ? List.of() : List.copyOf(genre);
+        director = director == null ? List.of() : List.copyOf(director);
+    }
+
+    // The single-attribute finders expressed as criteria
+
+    public static MovieSearchCriteria byGenre(String genre) {
+        return new MovieSearchCriteria(List.of(genre), null, null, null, null, null, null);
+    }
+
+    public static MovieSearchCriteria byDirector(String director) {
+        return new MovieSearchCriteria(null, List.of(director), null, null, null, null, null);
+    }
+
+    public static MovieSearchCriteria byReleaseYear(Integer releaseYear) {
+        return new MovieSearchCriteria(null, null, null, releaseYear, releaseYear, null, null);
+    }
+
+    public static MovieSearchCriteria byMinRating(Double rating) {
+        return new MovieSearchCriteria(null, null, null, null, null, rating, null);
+    }
+
+    public void validate() {
+        if (yearFrom != null && yearTo != null && yearFrom > yearTo) {
+            throw new BadRequestException("yearFrom must not be after yearTo");
+        }
+        if (minRating != null && maxRating != null && minRating > maxRating) {
+            throw new BadRequestException("minRating must not be greater than maxRating");
+        }
+        if (genre.size() > MAX_LIST_VALUES || director.size() > MAX_LIST_VALUES) {
+            throw new BadRequestException("At most " + MAX_LIST_VALUES + " values are allowed per list criterion");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mms.dto;
+
+import com.mms.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+
+/**
+ * Orderings supported by keyset pagination. Every ordering is made unique by using the
+ * movie id as a tie-breaker, so a cursor always identifies exactly one position.
+ */
+public enum MovieSortKey {
+
+    /** Ascending id. */
+    ID,
+
+    /** Highest rating first, unrated movies last. */
+    RATING,
+
+    /** Newest release year first. */
+    RELEASE_YEAR;
+
+    /** The sorted column besides the id, or {@code null} for {@link #ID}. */
+    public MovieField column() {
+        return switch (this) {
+            case ID -> null;
+            case RATING -> MovieField.RATING;
+            case RELEASE_YEAR -> MovieField.RELEASE_YEAR;
+        };
+    }
+
+    public Sort order() {
+        return switch (this) {
+            case ID -> Sort.by("id");
+            case RATING -> Sort.by(Sort.Order.desc("rating").nullsLast(), Sort.Order.asc("id"));
+            case RELEASE_YEAR -> Sort.by(Sort.Order.desc("releaseYear"), Sort.Order.asc("id"));
+        };
+    }
+
+    public static MovieSortKey fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "id" -> ID;
+            case "rating" -> RATING;
+            case "releaseyear", "release_year", "year" -> RELEASE_YEAR;
+            default -> throw new BadRequestException("Unsupported sort: " + value);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.mms.dto;
+
+import com.mms.entity.Movie;
+
+import java.time.Instant;
+
+/**
+ * The validators of a movie representation, loadable without hydrating the entity.
+ */
+public record MovieVersion(Long version, Instant updatedAt) {
+
+    public static MovieVersion of(Movie movie) {
+        return new MovieVersion(movie.getVersion(), movie.getUpdatedAt());
+    }
+
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return updatedAt == null ? -1 : updatedAt.toEpochMilli();
+    }
+}
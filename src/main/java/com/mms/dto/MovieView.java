@@ -0,0 +1,62 @@
+package com.mms.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Projection of a movie onto the columns a listing asked for. Built straight from the query's
+ * result tuples, so it is never managed, snapshotted or dirty-checked. Only {@code fields}
+ * are serialized; the remaining components are {@code null}, except for columns a keyset
+ * page needed for its cursor.
+ */
+@JsonSerialize(using = MovieView.Serializer.class)
+public record MovieView(Set<MovieField> fields,
+                        Long id,
+                        String title,
+                        String genre,
+                        String director,
+                        Integer releaseYear,
+                        Double rating,
+                        Long version,
+                        Instant updatedAt) {
+
+    public Object value(MovieField field) {
+        return switch (field) {
+            case ID -> id;
+            case TITLE -> title;
+            case GENRE -> genre;
+            case DIRECTOR -> director;
+            case RELEASE_YEAR -> releaseYear;
+            case RATING -> rating;
+            case VERSION -> version;
+            case UPDATED_AT -> updatedAt;
+        };
+    }
+
+    /** The same row rendering only {@code visible}. */
+    public MovieView withFields(Set<MovieField> visible) {
+        return new MovieView(visible, id, title, genre, director, releaseYear, rating, version, updatedAt);
+    }
+
+    static final class Serializer extends StdSerializer<MovieView> {
+
+        Serializer() {
+            super(MovieView.class);
+        }
+
+        @Override
+        public void serialize(MovieView view, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            for (MovieField field : view.fields()) {
+                provider.defaultSerializeField(field.property(), view.value(field), generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mms.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * One page of an offset-paginated listing. Totals are only present when the caller asked
+ * for them, since computing them costs an extra COUNT query.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PageResponse<T>(List<T> content, int page, int size, boolean hasNext,
+                              Long totalElements, Integer totalPages) {
+
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(), page.hasNext(),
+                    page.getTotalElements(), page.getTotalPages());
+        }
+        return new PageResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+                null, null);
+    }
+}
@@ -0,0 +1,158 @@
+package com.mms.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A file import and its checkpoint. The checkpoint ({@code committedOffset},
+ * {@code committedLine}, the counters and {@code errorReportBytes}) is updated in the same
+ * transaction as the rows it covers, so a resumed import continues exactly after the last
+ * committed chunk without duplicating or skipping rows.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        INTERRUPTED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Format format;
+
+    @Column(nullable = false, length = 1000)
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "total_bytes", nullable = false)
+    private long totalBytes;
+
+    @Column(name = "committed_offset", nullable = false)
+    private long committedOffset;
+
+    @Column(name = "committed_line", nullable = false)
+    private long committedLine;
+
+    @Column(name = "imported_count", nullable = false)
+    private long importedCount;
+
+    @Column(name = "rejected_count", nullable = false)
+    private long rejectedCount;
+
+    @Column(name = "error_report_bytes", nullable = false)
+    private long errorReportBytes;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public ImportJob() {
+    }
+
+    public ImportJob(String id, Format format, String source, long totalBytes) {
+        this.id = id;
+        this.format = format;
+        this.source = source;
+        this.totalBytes = totalBytes;
+        this.status = Status.QUEUED;
+        this.createdAt = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public long getCommittedLine() {
+        return committedLine;
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getErrorReportBytes() {
+        return errorReportBytes;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
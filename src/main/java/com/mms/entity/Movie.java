@@ -1,14 +1,31 @@
 package com.mms.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+        // genre leads both composites, so they also serve plain genre lookups
+        @Index(name = "idx_movies_genre_release_year", columnList = "genre, release_year"),
+        @Index(name = "idx_movies_genre_rating", columnList = "genre, rating"),
+        @Index(name = "idx_movies_director", columnList = "director"),
+        @Index(name = "idx_movies_title", columnList = "title"),
+        // Declared in the keyset orders (descending value, ascending id) so a page is a seek
+        // plus an index-ordered read; an ascending index cannot serve the mixed direction
+        @Index(name = "idx_movies_release_year_id", columnList = "release_year DESC, id"),
+        @Index(name = "idx_movies_rating_id", columnList = "rating DESC, id")
+})
 public class Movie {
 
+    // A pooled sequence lets Hibernate assign ids without a round trip per row, which keeps
+    // inserts batchable; IDENTITY forces an immediate insert for every persist
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_id_generator")
+    @SequenceGenerator(name = "movie_id_generator", sequenceName = "movies_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -37,6 +54,16 @@ public class Movie {
     @Column
     private Double rating;
 
+    // Maintained by Hibernate; together they back optimistic locking and HTTP validators
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
     // Default constructor
     public Movie() {
     }
@@ -99,6 +126,22 @@ public class Movie {
         this.rating = rating;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public String toString() {
         return "Movie{" +
@@ -108,6 +151,7 @@ public class Movie {
                 ", director='" + director + '\'' +
                 ", releaseYear=" + releaseYear +
                 ", rating=" + rating +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,35 @@
+package com.mms.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts committed movie mutations. Any collection response is derived from the table
+ * state, so the count, prefixed with the start time of this instance, serves as a cheap
+ * ETag for all of them. Read {@link #etag()} before running the query: a response is then
+ * never tagged with a count newer than the data it contains.
+ *
+ * <p>The count is per instance: writes applied by another instance do not change it, so
+ * collection ETags are only sound for single-instance (or sticky-session) deployments.
+ */
+@Component
+public class MovieChangeCounter {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    public long current() {
+        return changes.get();
+    }
+
+    public String etag() {
+        return "\"c" + Long.toString(epoch, 36) + "-" + changes.get() + "\"";
+    }
+}
@@ -0,0 +1,28 @@
+package com.mms.event;
+
+/**
+ * Published by {@code MovieService} for every committed mutation. In-memory read models
+ * (text index, statistics, ...) keep themselves in sync by listening for it after commit.
+ * {@code movie} is the complete state after the change, partial updates included, and is
+ * {@code null} for deletions.
+ */
+public record MovieChangedEvent(Type type, Long id, MovieSnapshot movie) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static MovieChangedEvent created(MovieSnapshot movie) {
+        return new MovieChangedEvent(Type.CREATED, movie.id(), movie);
+    }
+
+    public static MovieChangedEvent updated(MovieSnapshot movie) {
+        return new MovieChangedEvent(Type.UPDATED, movie.id(), movie);
+    }
+
+    public static MovieChangedEvent deleted(Long id) {
+        return new MovieChangedEvent(Type.DELETED, id, null);
+    }
+}
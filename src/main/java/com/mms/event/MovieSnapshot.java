@@ -0,0 +1,15 @@
+package com.mms.event;
+
+import com.mms.entity.Movie;
+
+/**
+ * Immutable copy of a movie's state at the time of a change, safe to hand to listeners that
+ * outlive the transaction and the entity instance.
+ */
+public record MovieSnapshot(Long id, String title, String genre, String director, Integer releaseYear, Double rating) {
+
+    public static MovieSnapshot of(Movie movie) {
+        return new MovieSnapshot(movie.getId(), movie.getTitle(), movie.getGenre(), movie.getDirector(),
+                movie.getReleaseYear(), movie.getRating());
+    }
+}
@@ -0,0 +1,16 @@
+package com.mms.exception;
+
+/**
+ * An invalid request parameter, header or body; answered with 400. Other
+ * {@link IllegalArgumentException}s are programming errors and are not reported to the client.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
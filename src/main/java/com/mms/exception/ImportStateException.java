@@ -0,0 +1,8 @@
+package com.mms.exception;
+
+public class ImportStateException extends RuntimeException {
+
+    public ImportStateException(String message) {
+        super(message);
+    }
+}
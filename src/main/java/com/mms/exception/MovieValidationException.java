@@ -0,0 +1,21 @@
+package com.mms.exception;
+
+import java.util.Map;
+
+/**
+ * Bean validation failure detected outside of request binding, e.g. for partial updates
+ * where only the supplied fields are checked.
+ */
+public class MovieValidationException extends RuntimeException {
+
+    private final Map<String, String> fieldErrors;
+
+    public MovieValidationException(Map<String, String> fieldErrors) {
+        super("Validation failed for " + fieldErrors.keySet());
+        this.fieldErrors = Map.copyOf(fieldErrors);
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
+    }
+}
@@ -0,0 +1,8 @@
+package com.mms.exception;
+
+public class StatisticsNotReadyException extends RuntimeException {
+
+    public StatisticsNotReadyException(String message) {
+        super(message);
+    }
+}
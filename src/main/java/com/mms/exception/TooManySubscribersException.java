@@ -0,0 +1,8 @@
+package com.mms.exception;
+
+public class TooManySubscribersException extends RuntimeException {
+
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
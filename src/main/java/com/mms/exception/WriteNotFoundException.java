@@ -0,0 +1,8 @@
+package com.mms.exception;
+
+public class WriteNotFoundException extends RuntimeException {
+
+    public WriteNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,122 @@
+package com.mms.export;
+
+import com.mms.entity.Movie;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Decodes the format written by {@link ColumnarMovieWriter}, one row group at a time.
+ */
+public final class ColumnarMovieReader {
+
+    private ColumnarMovieReader() {
+    }
+
+    /** Feeds every movie in {@code in} to {@code consumer} and returns the number of rows. */
+    public static long read(InputStream in, Consumer<Movie> consumer) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        byte[] magic = new byte[ColumnarMovieWriter.MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarMovieWriter.MAGIC)) {
+            throw new IOException("Not an MMS columnar stream");
+        }
+        int version = data.readUnsignedByte();
+        if (version != ColumnarMovieWriter.VERSION) {
+            throw new IOException("Unsupported MMS columnar version " + version);
+        }
+
+        long total = 0;
+        long previousId = 0;
+        long previousYear = 0;
+        int rows;
+        while ((rows = (int) readVarint(data)) > 0) {
+            ByteBuffer ids = readColumn(data);
+            ByteBuffer titles = readColumn(data);
+            String[] genres = readDictionary(readColumn(data), rows);
+            String[] directors = readDictionary(readColumn(data), rows);
+            ByteBuffer years = readColumn(data);
+            ByteBuffer ratings = readColumn(data);
+            byte[] presence = new byte[(rows + 7) / 8];
+            ratings.get(presence);
+
+            for (int row = 0; row < rows; row++) {
+                Movie movie = new Movie();
+                previousId += readSignedVarint(ids);
+                movie.setId(previousId);
+                movie.setTitle(readString(titles));
+                movie.setGenre(genres[row]);
+                movie.setDirector(directors[row]);
+                previousYear += readSignedVarint(years);
+                movie.setReleaseYear((int) previousYear);
+                if ((presence[row >>> 3] & (1 << (row & 7))) != 0) {
+                    movie.setRating(ratings.getDouble());
+                }
+                consumer.accept(movie);
+            }
+            total += rows;
+        }
+        return total;
+    }
+
+    private static ByteBuffer readColumn(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[(int) readVarint(data)];
+        data.readFully(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    // Expands the dictionary into one value per row
+    private static String[] readDictionary(ByteBuffer column, int rows) {
+        String[] values = new String[(int) readVarint(column)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(column);
+        }
+        String[] expanded = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            expanded[row] = values[(int) readVarint(column)];
+        }
+        return expanded;
+    }
+
+    private static String readString(ByteBuffer column) {
+        byte[] bytes = new byte[(int) readVarint(column)];
+        column.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readSignedVarint(ByteBuffer column) {
+        long value = readVarint(column);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarint(ByteBuffer column) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = column.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated MMS columnar stream");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+    }
+}
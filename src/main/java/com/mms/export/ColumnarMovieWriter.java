@@ -0,0 +1,186 @@
+package com.mms.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes movies in the MMS columnar format. Rows are buffered into row groups and each
+ * group is written column by column, so similar values sit together and compress well:
+ *
+ * <pre>
+ * stream   := "MMSC" version:u8 group* 0:varint
+ * group    := rowCount:varint column{6}
+ * column   := byteLength:varint bytes          (lets readers skip columns)
+ * id       := zigzag varint delta to the previous id
+ * title    := (length:varint utf8)*
+ * genre    := dictionary
+ * director := dictionary
+ * year     := zigzag varint delta to the previous year
+ * rating   := presence bitmap, then IEEE 754 doubles (big endian) of the present values
+ * dictionary := size:varint (length:varint utf8)* then index:varint per row
+ * </pre>
+ *
+ * Deltas run across row groups. Not thread-safe; one writer per export.
+ */
+public class ColumnarMovieWriter implements AutoCloseable {
+
+    static final byte[] MAGIC = {'M', 'M', 'S', 'C'};
+    static final int VERSION = 1;
+
+    private final OutputStream out;
+    private final int rowGroupSize;
+
+    private final Buffer ids = new Buffer();
+    private final Buffer titles = new Buffer();
+    private final Dictionary genres = new Dictionary();
+    private final Dictionary directors = new Dictionary();
+    private final Buffer years = new Buffer();
+    private final Buffer ratings = new Buffer();
+    private final Buffer column = new Buffer();
+    private byte[] ratingPresence;
+
+    private int rows;
+    private long previousId;
+    private long previousYear;
+    private long written;
+
+    public ColumnarMovieWriter(OutputStream out, int rowGroupSize) throws IOException {
+        this.out = out;
+        this.rowGroupSize = rowGroupSize;
+        this.ratingPresence = new byte[(rowGroupSize + 7) / 8];
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    public void write(long id, String title, String genre, String director, int releaseYear, Double rating)
+            throws IOException {
+        ids.writeSignedVarint(id - previousId);
+        previousId = id;
+        titles.writeString(title);
+        genres.add(genre);
+        directors.add(director);
+        years.writeSignedVarint(releaseYear - previousYear);
+        previousYear = releaseYear;
+        if (rating != null) {
+            ratingPresence[rows >>> 3] |= (byte) (1 << (rows & 7));
+            ratings.writeLong(Double.doubleToLongBits(rating));
+        }
+        rows++;
+        written++;
+        if (rows == rowGroupSize) {
+            flushGroup();
+        }
+    }
+
+    public long rowsWritten() {
+        return written;
+    }
+
+    /** Writes the pending row group and the end marker; does not close the target stream. */
+    @Override
+    public void close() throws IOException {
+        flushGroup();
+        writeVarint(out, 0);
+        out.flush();
+    }
+
+    private void flushGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        writeVarint(out, rows);
+        writeColumn(ids);
+        writeColumn(titles);
+        genres.encode(column);
+        writeColumn(column);
+        directors.encode(column);
+        writeColumn(column);
+        writeColumn(years);
+        column.write(ratingPresence, 0, (rows + 7) / 8);
+        ratings.appendTo(column);
+        writeColumn(column);
+
+        ids.reset();
+        titles.reset();
+        years.reset();
+        ratings.reset();
+        ratingPresence = new byte[ratingPresence.length];
+        rows = 0;
+    }
+
+    private void writeColumn(Buffer buffer) throws IOException {
+        writeVarint(out, buffer.size());
+        buffer.writeTo(out);
+        buffer.reset();
+    }
+
+    static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        void writeSignedVarint(long value) {
+            writeUnsignedVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeUnsignedVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsignedVarint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void appendTo(Buffer target) {
+            target.write(buf, 0, count);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+    }
+
+    // Per row group, so a catalog with many distinct values cannot grow it without bound
+    private static final class Dictionary {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final Buffer values = new Buffer();
+        private final Buffer rows = new Buffer();
+
+        void add(String value) {
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = indexes.size();
+                indexes.put(value, index);
+                values.writeString(value);
+            }
+            rows.writeUnsignedVarint(index);
+        }
+
+        void encode(Buffer target) {
+            target.writeUnsignedVarint(indexes.size());
+            values.appendTo(target);
+            rows.appendTo(target);
+            indexes.clear();
+            values.reset();
+            rows.reset();
+        }
+    }
+}
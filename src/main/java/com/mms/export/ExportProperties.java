@@ -0,0 +1,21 @@
+package com.mms.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Catalog export settings ({@code mms.export.*}). {@code fetchSize} is the number of rows the
+ * JDBC driver pulls per round trip from the export cursor; {@code rowGroupSize} is the number
+ * of rows buffered and encoded column by column at a time, which bounds the export's memory.
+ */
+@ConfigurationProperties(prefix = "mms.export")
+public record ExportProperties(
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("4096") int rowGroupSize) {
+
+    public ExportProperties {
+        if (fetchSize < 1 || rowGroupSize < 1) {
+            throw new IllegalArgumentException("mms.export.fetch-size and row-group-size must be positive");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mms.export;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Streams the whole catalog in the {@link ColumnarMovieWriter} format. Rows come straight
+ * from a forward-only, read-only JDBC cursor (no entities, no persistence context) and are
+ * encoded one row group at a time, so memory stays constant regardless of table size. The
+ * cursor runs inside a read-only transaction, which PostgreSQL needs to honour the fetch size.
+ */
+@Component
+public class MovieExporter {
+
+    public static final String MEDIA_TYPE = "application/vnd.mms.movies+columnar";
+
+    private static final String EXPORT_SQL =
+            "select id, title, genre, director, release_year, rating from movies order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExportProperties properties;
+
+    public MovieExporter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                         ExportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    /** Writes every movie to {@code out} and returns the number of rows; does not close {@code out}. */
+    public long export(OutputStream out) throws IOException {
+        ColumnarMovieWriter writer = new ColumnarMovieWriter(out, properties.rowGroupSize());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    writer.write(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getInt(5), rs.getObject(6, Double.class));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.close();
+        return writer.rowsWritten();
+    }
+}
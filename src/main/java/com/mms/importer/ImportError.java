@@ -0,0 +1,20 @@
+package com.mms.importer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * One entry of an import's error report: the line that was rejected and why.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportError(long line, String message, Map<String, String> fieldErrors) {
+
+    static ImportError invalid(long line, Map<String, String> fieldErrors) {
+        return new ImportError(line, "Validation failed", fieldErrors);
+    }
+
+    static ImportError of(long line, String message) {
+        return new ImportError(line, message, null);
+    }
+}
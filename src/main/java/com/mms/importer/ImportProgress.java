@@ -0,0 +1,42 @@
+package com.mms.importer;
+
+import com.mms.entity.ImportJob;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Status resource of an import. Progress reflects committed chunks only.
+ */
+public record ImportProgress(String id,
+                             ImportJob.Status status,
+                             ImportJob.Format format,
+                             long totalBytes,
+                             long committedBytes,
+                             double percentComplete,
+                             long linesCommitted,
+                             long imported,
+                             long rejected,
+                             Double rowsPerSecond,
+                             Instant createdAt,
+                             Instant startedAt,
+                             Instant finishedAt,
+                             String message) {
+
+    public static ImportProgress of(ImportJob job) {
+        double percent = job.getTotalBytes() == 0 ? 100.0
+                : Math.round(job.getCommittedOffset() * 1000.0 / job.getTotalBytes()) / 10.0;
+        Double rate = null;
+        if (job.getStartedAt() != null) {
+            Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            if (millis > 0) {
+                rate = Math.round((job.getImportedCount() + job.getRejectedCount()) * 10_000.0 / millis) / 10.0;
+            }
+        }
+        return new ImportProgress(job.getId(), job.getStatus(), job.getFormat(), job.getTotalBytes(),
+                job.getCommittedOffset(), percent, job.getCommittedLine(), job.getImportedCount(),
+                job.getRejectedCount(), rate, job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt(),
+                job.getMessage());
+    }
+}
@@ -0,0 +1,30 @@
+package com.mms.importer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * File import settings ({@code mms.import.*}). Uploads are spooled to, and server-side files
+ * are only read from, {@code directory}. {@code chunkSize} rows are committed per
+ * transaction together with the job's checkpoint; {@code validationThreads} parse and
+ * validate rows in parallel (0 uses one per CPU).
+ */
+@ConfigurationProperties(prefix = "mms.import")
+public record ImportProperties(
+        @DefaultValue("${java.io.tmpdir}/mms-imports") Path directory,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("0") int validationThreads,
+        @DefaultValue("1") int concurrentJobs) {
+
+    public ImportProperties {
+        if (chunkSize < 1 || concurrentJobs < 1 || validationThreads < 0) {
+            throw new IllegalArgumentException("mms.import.chunk-size and concurrent-jobs must be positive");
+        }
+    }
+
+    public int effectiveValidationThreads() {
+        return validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,96 @@
+package com.mms.importer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file line by line through memory-mapped windows, so large files are paged in by
+ * the OS instead of being copied through heap buffers. Every line reports the byte offset
+ * just past its terminator, which is what an import checkpoint records; {@link #seek}
+ * continues from such an offset.
+ */
+final class MappedLineReader implements AutoCloseable {
+
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    record Line(long number, long endOffset, String text) {
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long lineNumber;
+
+    MappedLineReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedLineReader(Path path, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    long size() {
+        return size;
+    }
+
+    void seek(long offset, long lineNumber) {
+        this.position = offset;
+        this.lineNumber = lineNumber;
+    }
+
+    /** Returns the next line without its terminator, or {@code null} at the end of the file. */
+    Line next() throws IOException {
+        while (position < size) {
+            if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+                map(position);
+            }
+            int start = (int) (position - windowStart);
+            int limit = window.limit();
+            int end = start;
+            while (end < limit && window.get(end) != '\n') {
+                end++;
+            }
+            boolean terminated = end < limit;
+            if (!terminated && windowStart + limit < size) {
+                if (start == 0) {
+                    throw new IOException("Line " + (lineNumber + 1) + " is longer than " + windowSize + " bytes");
+                }
+                // The line crosses the window boundary; remap starting at the line
+                map(position);
+                continue;
+            }
+            int contentEnd = end > start && window.get(end - 1) == '\r' ? end - 1 : end;
+            if (position == 0 && contentEnd - start >= 3 && window.get(start) == (byte) 0xEF
+                    && window.get(start + 1) == (byte) 0xBB && window.get(start + 2) == (byte) 0xBF) {
+                start += 3;  // UTF-8 byte order mark
+            }
+            byte[] bytes = new byte[contentEnd - start];
+            window.get(start, bytes);
+            position = windowStart + (terminated ? end + 1 : end);
+            lineNumber++;
+            return new Line(lineNumber, position, new String(bytes, StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void map(long offset) throws IOException {
+        windowStart = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, size - offset));
+    }
+}
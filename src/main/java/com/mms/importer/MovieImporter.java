@@ -0,0 +1,357 @@
+package com.mms.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.config.EntityValidationConfig;
+import com.mms.entity.ImportJob;
+import com.mms.entity.Movie;
+import com.mms.exception.BadRequestException;
+import com.mms.exception.ImportJobNotFoundException;
+import com.mms.exception.ImportStateException;
+import com.mms.repository.ImportJobRepository;
+import com.mms.service.MovieService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports movies from CSV or NDJSON files. A job reads its file through
+ * {@link MappedLineReader}, parses and validates each chunk on a pool of validation threads
+ * while the previous chunk is being written, and commits every chunk in one transaction
+ * together with its checkpoint. Rejected rows go to an NDJSON error report whose length is
+ * part of the checkpoint as well, so an interrupted or failed job resumes exactly after its
+ * last committed chunk.
+ *
+ * <p>Rows are written through {@link MovieService#createMovie}, so caches and in-memory
+ * read models see imported movies like any other. Their sessions skip Hibernate's
+ * pre-insert validation, which would only repeat the parallel validation serially.
+ */
+@Service
+@Lazy
+public class MovieImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieImporter.class);
+
+    private static final EnumSet<ImportJob.Status> RESUMABLE = EnumSet.of(ImportJob.Status.FAILED,
+            ImportJob.Status.INTERRUPTED);
+
+    private final ImportJobRepository importJobRepository;
+    private final MovieService movieService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties properties;
+    private final ExecutorService jobs;
+    private final ExecutorService validators;
+    private volatile boolean stopping;
+
+    @Autowired
+    public MovieImporter(ImportJobRepository importJobRepository, MovieService movieService, Validator validator,
+                         EntityManager entityManager, TransactionTemplate transactionTemplate,
+                         ObjectMapper objectMapper, ImportProperties properties) {
+        this.importJobRepository = importJobRepository;
+        this.movieService = movieService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.jobs = Executors.newFixedThreadPool(properties.concurrentJobs(), daemonThreads("movie-import-"));
+        this.validators = Executors.newFixedThreadPool(properties.effectiveValidationThreads(),
+                daemonThreads("movie-import-validation-"));
+    }
+
+    /** Spools an uploaded body into the import directory and queues it. */
+    public ImportJob importUpload(InputStream body, ImportJob.Format format) throws IOException {
+        String id = UUID.randomUUID().toString();
+        Files.createDirectories(properties.directory());
+        Path file = properties.directory().resolve(id + "." + format.name().toLowerCase(Locale.ROOT));
+        Files.copy(body, file);
+        return submit(new ImportJob(id, format, file.toString(), Files.size(file)));
+    }
+
+    /** Queues a file that already sits in the import directory. */
+    public ImportJob importFile(String fileName, ImportJob.Format format) throws IOException {
+        Path directory = properties.directory().toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new BadRequestException("No such file in the import directory: " + fileName);
+        }
+        return submit(new ImportJob(UUID.randomUUID().toString(), format, file.toString(), Files.size(file)));
+    }
+
+    // The status check and the transition are one conditional UPDATE, so of two concurrent
+    // resumes only one queues the job
+    public ImportJob resume(String id) {
+        if (importJobRepository.requeue(id, RESUMABLE) == 0) {
+            ImportJob job = getJob(id);
+            throw new ImportStateException("Import " + id + " is " + job.getStatus() + " and cannot be resumed");
+        }
+        jobs.execute(() -> run(id));
+        return getJob(id);
+    }
+
+    public ImportJob getJob(String id) {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new ImportJobNotFoundException("Import not found with id: " + id));
+    }
+
+    public Path errorReport(String id) {
+        getJob(id);
+        return errorReportPath(id);
+    }
+
+    // Jobs that were running when the application stopped can only be resumed explicitly
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterrupted() {
+        for (ImportJob job : importJobRepository.findByStatusIn(EnumSet.of(ImportJob.Status.QUEUED,
+                ImportJob.Status.RUNNING))) {
+            job.setStatus(ImportJob.Status.INTERRUPTED);
+            job.setMessage("Interrupted by a restart; resume to continue from line " + job.getCommittedLine());
+            importJobRepository.save(job);
+        }
+    }
+
+    // Running jobs stop after their current chunk and stay resumable
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        jobs.shutdown();
+        jobs.awaitTermination(30, TimeUnit.SECONDS);
+        validators.shutdown();
+    }
+
+    private ImportJob submit(ImportJob job) {
+        ImportJob saved = importJobRepository.save(job);
+        jobs.execute(() -> run(saved.getId()));
+        return saved;
+    }
+
+    private void run(String id) {
+        ImportJob job = transition(id, ImportJob.Status.RUNNING, null);
+        try (MappedLineReader reader = new MappedLineReader(Path.of(job.getSource()));
+             FileChannel report = FileChannel.open(errorReportPath(id), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE)) {
+            MovieLineParser parser = parser(job, reader);
+            if (job.getCommittedOffset() > 0) {
+                reader.seek(job.getCommittedOffset(), job.getCommittedLine());
+            }
+            // Entries written after the last checkpoint belong to a chunk that never committed
+            report.truncate(job.getErrorReportBytes());
+            report.position(job.getErrorReportBytes());
+
+            List<MappedLineReader.Line> chunk = readChunk(reader);
+            CompletableFuture<List<Row>> pending = chunk.isEmpty() ? null : validate(parser, chunk);
+            while (pending != null) {
+                if (stopping) {
+                    transition(id, ImportJob.Status.INTERRUPTED, "Interrupted by shutdown");
+                    return;
+                }
+                List<Row> rows = pending.join();
+                chunk = readChunk(reader);
+                pending = chunk.isEmpty() ? null : validate(parser, chunk);
+                commit(id, rows, report);
+            }
+            transition(id, ImportJob.Status.COMPLETED, null);
+        } catch (Exception ex) {
+            log.warn("Import {} failed: {}", id, ex.getMessage());
+            transition(id, ImportJob.Status.FAILED, ex.getMessage());
+        }
+    }
+
+    private MovieLineParser parser(ImportJob job, MappedLineReader reader) throws IOException {
+        if (job.getFormat() == ImportJob.Format.CSV) {
+            MappedLineReader.Line header = reader.next();
+            return MovieLineParser.forFormat(job.getFormat(), header == null ? null : header.text(), objectMapper);
+        }
+        return MovieLineParser.forFormat(job.getFormat(), null, objectMapper);
+    }
+
+    private List<MappedLineReader.Line> readChunk(MappedLineReader reader) throws IOException {
+        List<MappedLineReader.Line> chunk = new ArrayList<>(properties.chunkSize());
+        MappedLineReader.Line line;
+        while (chunk.size() < properties.chunkSize() && (line = reader.next()) != null) {
+            chunk.add(line);
+        }
+        return chunk;
+    }
+
+    // Splits the chunk into one contiguous slice per validation thread and keeps line order
+    private CompletableFuture<List<Row>> validate(MovieLineParser parser, List<MappedLineReader.Line> chunk) {
+        int threads = properties.effectiveValidationThreads();
+        int sliceSize = (chunk.size() + threads - 1) / threads;
+        List<CompletableFuture<List<Row>>> slices = new ArrayList<>(threads);
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<MappedLineReader.Line> slice = chunk.subList(from, Math.min(chunk.size(), from + sliceSize));
+            slices.add(CompletableFuture.supplyAsync(
+                    () -> slice.stream().map(line -> validate(parser, line)).toList(), validators));
+        }
+        return CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<Row> rows = new ArrayList<>(chunk.size());
+            slices.forEach(slice -> rows.addAll(slice.join()));
+            return rows;
+        });
+    }
+
+    private Row validate(MovieLineParser parser, MappedLineReader.Line line) {
+        if (line.text().isBlank()) {
+            return new Row(line, null, null);
+        }
+        Movie movie;
+        try {
+            movie = parser.parse(line.text());
+        } catch (IllegalArgumentException ex) {
+            return new Row(line, null, ImportError.of(line.number(), ex.getMessage()));
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<Movie> violation : validator.validate(movie)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (!errors.isEmpty()) {
+            return new Row(line, null, ImportError.invalid(line.number(), errors));
+        }
+        movie.setId(null);
+        return new Row(line, movie, null);
+    }
+
+    private void commit(String id, List<Row> rows, FileChannel report) throws IOException {
+        long reportStart = report.position();
+        long rejected = 0;
+        for (Row row : rows) {
+            if (row.error() != null) {
+                appendError(report, row.error());
+                rejected++;
+            }
+        }
+        long reportEnd = report.position();
+        MappedLineReader.Line last = rows.get(rows.size() - 1).line();
+        long imported = rows.stream().filter(row -> row.movie() != null).count();
+        long chunkRejected = rejected;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rows.forEach(this::write);
+                importJobRepository.checkpoint(id, last.endOffset(), last.number(), imported, chunkRejected,
+                        reportEnd);
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Import {} chunk ending at line {} failed, retrying row by row: {}", id, last.number(),
+                    ex.getMessage());
+            report.truncate(reportStart);
+            report.position(reportStart);
+            for (Row row : rows) {
+                commitRow(id, row, report);
+            }
+        }
+    }
+
+    // One transaction per row, each advancing the checkpoint past its own line
+    private void commitRow(String id, Row row, FileChannel report) throws IOException {
+        ImportError error = row.error();
+        if (row.movie() != null) {
+            long reportPosition = report.position();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    write(row);
+                    importJobRepository.checkpoint(id, row.line().endOffset(), row.line().number(), 1, 0,
+                            reportPosition);
+                });
+                return;
+            } catch (RuntimeException ex) {
+                error = ImportError.of(row.line().number(), rootMessage(ex));
+            }
+        }
+        if (error != null) {
+            appendError(report, error);
+        }
+        long reportEnd = report.position();
+        long rejected = error != null ? 1 : 0;
+        transactionTemplate.executeWithoutResult(status -> importJobRepository.checkpoint(id,
+                row.line().endOffset(), row.line().number(), 0, rejected, reportEnd));
+    }
+
+    // Rows reaching here passed validate(), so the session can skip Hibernate's validation
+    private void write(Row row) {
+        if (row.movie() != null) {
+            EntityValidationConfig.skipEntityValidation(entityManager);
+            movieService.createMovie(row.movie());
+        }
+    }
+
+    private void appendError(FileChannel report, ImportError error) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(error);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            report.write(buffer);
+        }
+    }
+
+    private ImportJob transition(String id, ImportJob.Status status, String message) {
+        return transactionTemplate.execute(tx -> {
+            ImportJob job = getJob(id);
+            job.setStatus(status);
+            job.setMessage(message);
+            if (status == ImportJob.Status.RUNNING && job.getStartedAt() == null) {
+                job.setStartedAt(Instant.now());
+            }
+            if (status != ImportJob.Status.RUNNING) {
+                job.setFinishedAt(Instant.now());
+            }
+            return job;
+        });
+    }
+
+    private Path errorReportPath(String id) {
+        return properties.directory().resolve(id + ".errors.ndjson");
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Row(MappedLineReader.Line line, Movie movie, ImportError error) {
+    }
+}
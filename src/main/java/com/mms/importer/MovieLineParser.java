@@ -0,0 +1,157 @@
+package com.mms.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mms.entity.ImportJob;
+import com.mms.entity.Movie;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns one line of an import file into a {@link Movie}. Parsers are stateless after
+ * construction and safe to share between validation threads.
+ */
+abstract class MovieLineParser {
+
+    /** Parses {@code line}; throws {@link IllegalArgumentException} with a user-facing message. */
+    abstract Movie parse(String line);
+
+    static MovieLineParser forFormat(ImportJob.Format format, String header, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new Csv(header);
+            case NDJSON -> new Ndjson(objectMapper);
+        };
+    }
+
+    private static final class Ndjson extends MovieLineParser {
+
+        private final ObjectReader reader;
+
+        Ndjson(ObjectMapper objectMapper) {
+            this.reader = objectMapper.readerFor(Movie.class);
+        }
+
+        @Override
+        Movie parse(String line) {
+            try {
+                Movie movie = reader.readValue(line);
+                if (movie == null) {
+                    throw new IllegalArgumentException("Expected a JSON object");
+                }
+                return movie;
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 fields with a header naming the columns, in any order: {@code title},
+     * {@code genre}, {@code director}, {@code releaseYear} (or {@code release_year}) and an
+     * optional {@code rating}. Quoted fields may contain commas and doubled quotes but not
+     * line breaks.
+     */
+    private static final class Csv extends MovieLineParser {
+
+        private final int title;
+        private final int genre;
+        private final int director;
+        private final int releaseYear;
+        private final int rating;
+
+        Csv(String header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV import is empty, expected a header line");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = split(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+            }
+            this.title = required(columns, "title");
+            this.genre = required(columns, "genre");
+            this.director = required(columns, "director");
+            this.releaseYear = required(columns, "releaseyear");
+            this.rating = columns.getOrDefault("rating", -1);
+        }
+
+        @Override
+        Movie parse(String line) {
+            List<String> fields = split(line);
+            Movie movie = new Movie();
+            movie.setTitle(field(fields, title));
+            movie.setGenre(field(fields, genre));
+            movie.setDirector(field(fields, director));
+            String year = field(fields, releaseYear);
+            if (year != null) {
+                try {
+                    movie.setReleaseYear(Integer.valueOf(year));
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("releaseYear is not a number: " + year);
+                }
+            }
+            String value = rating < 0 ? null : field(fields, rating);
+            if (value != null) {
+                try {
+                    movie.setRating(Double.valueOf(value));
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("rating is not a number: " + value);
+                }
+            }
+            return movie;
+        }
+
+        private static int required(Map<String, Integer> columns, String name) {
+            Integer index = columns.get(name);
+            if (index == null) {
+                throw new IllegalArgumentException("CSV header is missing the " + name + " column");
+            }
+            return index;
+        }
+
+        // Blank fields are absent, so bean validation reports them as missing
+        private static String field(List<String> fields, int index) {
+            if (index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
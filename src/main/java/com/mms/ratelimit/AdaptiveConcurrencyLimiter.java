@@ -0,0 +1,101 @@
+package com.mms.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AIMD concurrency limit driven by MovieService latency. Requests take a permit while the
+ * number in flight is below the limit; latency samples adjust the limit. All state is held in
+ * atomics, so neither path takes a lock.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final long targetLatencyNanos;
+    private final long decreaseIntervalNanos;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong smoothedLatencyBits = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+    private final AtomicLong lastDecrease;
+    private final LongAdder shed = new LongAdder();
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.targetLatencyNanos = properties.targetLatency().toNanos();
+        this.decreaseIntervalNanos = properties.decreaseInterval().toNanos();
+        this.limit = new AtomicInteger(properties.initialLimit());
+        this.lastDecrease = new AtomicLong(System.nanoTime() - decreaseIntervalNanos);
+    }
+
+    /** Takes a permit unless the limit is reached; every successful call needs a {@link #release()}. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /** Records one MovieService call and adapts the limit. */
+    public void onSample(long latencyNanos) {
+        double smoothed = smooth(latencyNanos);
+        int current = limit.get();
+        if (smoothed > targetLatencyNanos) {
+            long now = System.nanoTime();
+            long last = lastDecrease.get();
+            if (now - last >= decreaseIntervalNanos && lastDecrease.compareAndSet(last, now)) {
+                limit.accumulateAndGet(properties.minLimit(),
+                        (value, min) -> Math.max(min, (int) (value * properties.backoffRatio())));
+            }
+        } else if (current < properties.maxLimit() && inFlight.get() * 2 >= current) {
+            // Only grow a limit that is being used; an idle service says nothing about capacity
+            limit.compareAndSet(current, current + 1);
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long shedCount() {
+        return shed.sum();
+    }
+
+    /** Exponentially weighted average of recent latencies in milliseconds, or NaN before the first sample. */
+    public double smoothedLatencyMillis() {
+        return Double.longBitsToDouble(smoothedLatencyBits.get()) / 1_000_000.0;
+    }
+
+    private double smooth(long latencyNanos) {
+        while (true) {
+            long bits = smoothedLatencyBits.get();
+            double previous = Double.longBitsToDouble(bits);
+            double next = Double.isNaN(previous)
+                    ? latencyNanos
+                    : previous + properties.smoothing() * (latencyNanos - previous);
+            if (smoothedLatencyBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return next;
+            }
+        }
+    }
+}
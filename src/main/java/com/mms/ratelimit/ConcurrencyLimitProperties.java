@@ -0,0 +1,37 @@
+package com.mms.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limit for {@code /api/**} ({@code mms.concurrency-limit.*}). The limit
+ * starts at {@code initialLimit} and moves between {@code minLimit} and {@code maxLimit}: it
+ * shrinks by {@code backoffRatio}, at most once per {@code decreaseInterval}, while the
+ * smoothed MovieService latency is above {@code targetLatency}, and grows by one while latency
+ * is healthy and the limit is actually in use. {@code smoothing} is the weight of each new
+ * latency sample.
+ */
+@ConfigurationProperties(prefix = "mms.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("250ms") Duration targetLatency,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("100ms") Duration decreaseInterval) {
+
+    public ConcurrencyLimitProperties {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "mms.concurrency-limit needs 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1 || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException(
+                    "mms.concurrency-limit.backoff-ratio must be in (0, 1) and smoothing in (0, 1]");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.mms.ratelimit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Feeds the latency of MovieService calls to the {@link AdaptiveConcurrencyLimiter}. The
+ * catalog stream is left out: its duration measures the size of the table and the speed of
+ * the client, not how loaded the database is.
+ */
+@Aspect
+public class MovieServiceLatencyAspect {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public MovieServiceLatencyAspect(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Around("execution(public * com.mms.service.MovieService.*(..)) "
+            + "&& !execution(* com.mms.service.MovieService.streamAllMovies(..))")
+    public Object sample(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            limiter.onSample(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mms.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-bucket limits for {@code /api/**} ({@code mms.rate-limit.*}). Every client gets a
+ * bucket of {@code client} size, and one more per matching entry of {@code endpoints}. A
+ * client is identified by {@code clientIdHeader} when set (e.g. an API key added by the
+ * gateway), otherwise by its remote address. Buckets idle for {@code idleExpiry} are dropped.
+ * Off unless enabled: behind a proxy every client shares the proxy's address, so enabling it
+ * needs a client id header or {@code server.forward-headers-strategy}.
+ */
+@ConfigurationProperties(prefix = "mms.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String clientIdHeader,
+        @DefaultValue Limit client,
+        @DefaultValue("100000") long maxTrackedBuckets,
+        @DefaultValue("10m") Duration idleExpiry,
+        Map<String, EndpointLimit> endpoints) {
+
+    public RateLimitProperties {
+        endpoints = endpoints == null ? Map.of() : endpoints;
+    }
+
+    /** Sustained {@code requestsPerSecond}, with up to {@code burst} requests at once. */
+    public record Limit(@DefaultValue("100") double requestsPerSecond, @DefaultValue("200") int burst) {
+
+        public Limit {
+            if (requestsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate limits need a positive rate and burst");
+            }
+        }
+    }
+
+    /**
+     * A per-client limit for requests whose path matches {@code pattern} (Spring path pattern
+     * syntax) and, when {@code methods} is not empty, whose method is one of them.
+     */
+    public record EndpointLimit(String pattern, List<String> methods, double requestsPerSecond, int burst) {
+
+        public EndpointLimit {
+            if (pattern == null || requestsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Endpoint rate limits need a pattern, a positive rate and burst");
+            }
+            methods = methods == null ? List.of() : methods;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.mms.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one {@link TokenBucket} per client and limit. Endpoint limits are checked before the
+ * client-wide one, so a request rejected by an endpoint limit does not use up the client's
+ * general allowance.
+ */
+@Component
+public class RateLimiter {
+
+    private static final String CLIENT_LIMIT = "*";
+
+    private record EndpointRule(String name, PathPattern pattern, Set<String> methods,
+                                RateLimitProperties.EndpointLimit limit) {
+
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+    }
+
+    private final RateLimitProperties properties;
+    private final List<EndpointRule> endpointRules;
+    private final Cache<String, TokenBucket> buckets;
+    private final LongAdder clientRejections = new LongAdder();
+    private final LongAdder endpointRejections = new LongAdder();
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.endpointRules = properties.endpoints().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new EndpointRule(entry.getKey(),
+                        PathPatternParser.defaultInstance.parse(entry.getValue().pattern()),
+                        entry.getValue().methods().stream()
+                                .map(method -> method.toUpperCase(Locale.ROOT))
+                                .collect(Collectors.toUnmodifiableSet()),
+                        entry.getValue()))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxTrackedBuckets())
+                .expireAfterAccess(properties.idleExpiry())
+                .build();
+    }
+
+    /**
+     * Takes a token from every bucket that applies to the request. Returns 0 when the request
+     * may proceed, otherwise the nanoseconds until the exhausted bucket has a token again.
+     */
+    public long tryAcquire(String client, String method, String path) {
+        long now = System.nanoTime();
+        PathContainer pathContainer = endpointRules.isEmpty() ? null : PathContainer.parsePath(path);
+        for (EndpointRule rule : endpointRules) {
+            if (rule.matches(method, pathContainer)) {
+                RateLimitProperties.EndpointLimit limit = rule.limit();
+                long wait = bucket(rule.name(), client, limit.requestsPerSecond(), limit.burst(), now)
+                        .tryAcquire(now);
+                if (wait > 0) {
+                    endpointRejections.increment();
+                    return wait;
+                }
+            }
+        }
+        RateLimitProperties.Limit limit = properties.client();
+        long wait = bucket(CLIENT_LIMIT, client, limit.requestsPerSecond(), limit.burst(), now).tryAcquire(now);
+        if (wait > 0) {
+            clientRejections.increment();
+        }
+        return wait;
+    }
+
+    public long clientRejectionCount() {
+        return clientRejections.sum();
+    }
+
+    public long endpointRejectionCount() {
+        return endpointRejections.sum();
+    }
+
+    public long trackedBuckets() {
+        return buckets.estimatedSize();
+    }
+
+    private TokenBucket bucket(String limitName, String client, double requestsPerSecond, int burst, long now) {
+        return buckets.get(limitName + '\u0000' + client, key -> new TokenBucket(requestsPerSecond, burst, now));
+    }
+}
@@ -0,0 +1,128 @@
+package com.mms.repository;
+
+import com.mms.dto.MovieSearchCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Explains the SQL behind each {@link MovieRepository} finder at startup and reports the
+ * ones whose plan is a full table scan. The SQL is not written out here: each finder is
+ * called once with a value that matches nothing, and {@link SqlRecorder} captures the
+ * statement Hibernate generates for it, so the check follows the repository as it changes.
+ * On PostgreSQL sequential scans are disabled for the check, so the question asked is
+ * whether an index can serve the query at all rather than whether the planner prefers it
+ * for the current (possibly tiny) table.
+ */
+@Component
+public class FinderIndexCheck implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(FinderIndexCheck.class);
+
+    private static final String NO_MATCH = "#finder-index-check#";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexCheckProperties properties;
+    private final Map<String, Runnable> finders = new LinkedHashMap<>();
+
+    public FinderIndexCheck(MovieRepository movieRepository, JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate, IndexCheckProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        finders.put("findByTitle", () -> movieRepository.findByTitle(NO_MATCH));
+        finders.put("findByGenre", () -> movieRepository.findByGenre(NO_MATCH));
+        finders.put("findByDirector", () -> movieRepository.findByDirector(NO_MATCH));
+        finders.put("findByReleaseYear", () -> movieRepository.findByReleaseYear(0));
+        finders.put("findByRatingGreaterThanEqual", () -> movieRepository.findByRatingGreaterThanEqual(11.0));
+        finders.put("genre + releaseYear", () -> movieRepository.findSlice(MovieSpecifications.matching(
+                new MovieSearchCriteria(List.of(NO_MATCH), null, null, 1990, 2000, null, null)), PageRequest.of(0, 1)));
+        finders.put("genre + rating", () -> movieRepository.findSlice(MovieSpecifications.matching(
+                new MovieSearchCriteria(List.of(NO_MATCH), null, null, null, null, 8.0, null)), PageRequest.of(0, 1)));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.enabled()) {
+            return;
+        }
+        List<String> unindexed = findUnindexedFinders();
+        if (unindexed.isEmpty()) {
+            log.info("All {} finder queries are served by an index", finders.size());
+            return;
+        }
+        String message = "Finder queries without an index: " + unindexed;
+        if (properties.failOnMissing()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    public List<String> findUnindexedFinders() {
+        String product = jdbcTemplate.execute(
+                (java.sql.Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(product);
+        if (!postgres && !"H2".equalsIgnoreCase(product)) {
+            log.info("Skipping finder index check: query plans of {} are not inspected", product);
+            return List.of();
+        }
+        List<String> unindexed = new ArrayList<>();
+        finders.forEach((finder, call) -> {
+            List<String> plans = transactionTemplate.execute(status -> {
+                List<String> statements = SqlRecorder.record(call);
+                if (postgres) {
+                    jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+                }
+                return statements.stream().map(sql -> explain(sql, postgres)).toList();
+            });
+            if (plans.isEmpty() || plans.stream().anyMatch(FinderIndexCheck::isTableScan)) {
+                log.debug("Plans for {}: {}", finder, plans);
+                unindexed.add(finder);
+            }
+        });
+        return unindexed;
+    }
+
+    // H2 explains a statement with unbound parameters; PostgreSQL needs them bound, so the
+    // statement is prepared and its generic plan, which holds for any value, is explained
+    private String explain(String sql, boolean postgres) {
+        if (!postgres) {
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        }
+        StringBuilder numbered = new StringBuilder();
+        List<String> nulls = new ArrayList<>();
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                nulls.add("NULL");
+                numbered.append('$').append(nulls.size());
+            } else {
+                numbered.append(c);
+            }
+        }
+        jdbcTemplate.execute("PREPARE finder_index_check AS " + numbered);
+        try {
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            String arguments = nulls.isEmpty() ? "" : "(" + String.join(", ", nulls) + ")";
+            return String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN EXECUTE finder_index_check" + arguments, String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE finder_index_check");
+        }
+    }
+
+    static boolean isTableScan(String plan) {
+        // H2 prints "PUBLIC.MOVIES.tableScan", PostgreSQL "Seq Scan on movies"
+        return plan == null || plan.contains(".tableScan") || plan.contains("Seq Scan");
+    }
+}
@@ -0,0 +1,46 @@
+package com.mms.repository;
+
+import com.mms.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    // Read-write on purpose: job state is polled right after it changes and must come from the
+    // primary even when reads are routed to a replica
+    @Override
+    @Transactional
+    Optional<ImportJob> findById(String id);
+
+    List<ImportJob> findByStatusIn(Collection<ImportJob.Status> statuses);
+
+    /**
+     * Moves a job back to {@code QUEUED} if it is in one of {@code from}; returns 0 when it is
+     * not (or no longer) there.
+     */
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.status = com.mms.entity.ImportJob$Status.QUEUED, j.message = null, "
+            + "j.finishedAt = null where j.id = :id and j.status in :from")
+    int requeue(@Param("id") String id, @Param("from") Collection<ImportJob.Status> from);
+
+    /**
+     * Advances the checkpoint; must run in the transaction that committed the rows it covers.
+     */
+    @Modifying
+    @Query("update ImportJob j set j.committedOffset = :offset, j.committedLine = :line, "
+            + "j.importedCount = j.importedCount + :imported, j.rejectedCount = j.rejectedCount + :rejected, "
+            + "j.errorReportBytes = :errorReportBytes where j.id = :id")
+    int checkpoint(@Param("id") String id, @Param("offset") long offset, @Param("line") long line,
+                   @Param("imported") long imported, @Param("rejected") long rejected,
+                   @Param("errorReportBytes") long errorReportBytes);
+}
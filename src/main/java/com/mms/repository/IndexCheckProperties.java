@@ -0,0 +1,14 @@
+package com.mms.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Startup query-plan check ({@code mms.index-check.*}). With {@code failOnMissing} the
+ * application refuses to start when a finder query would scan the whole table.
+ */
+@ConfigurationProperties(prefix = "mms.index-check")
+public record IndexCheckProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean failOnMissing) {
+}
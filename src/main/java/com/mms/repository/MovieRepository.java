@@ -1,14 +1,32 @@
 package com.mms.repository;
 
+import com.mms.dto.MovieVersion;
 import com.mms.entity.Movie;
+import com.mms.event.MovieSnapshot;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie>,
+        MovieSearchRepository {
     
     Optional<Movie> findByTitle(String title);
     
@@ -19,5 +37,98 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     List<Movie> findByReleaseYear(Integer releaseYear);
     
     List<Movie> findByRatingGreaterThanEqual(Double rating);
-}
 
+    // Paged finders. The Page variants also run a COUNT query; the Slice variants fetch one
+    // extra row instead, which is all that is needed to know whether a next page exists.
+
+    Page<Movie> findByGenre(String genre, Pageable pageable);
+
+    Slice<Movie> findSliceByGenre(String genre, Pageable pageable);
+
+    Page<Movie> findByDirector(String director, Pageable pageable);
+
+    Slice<Movie> findSliceByDirector(String director, Pageable pageable);
+
+    Page<Movie> findByReleaseYear(Integer releaseYear, Pageable pageable);
+
+    Slice<Movie> findSliceByReleaseYear(Integer releaseYear, Pageable pageable);
+
+    Page<Movie> findByRatingGreaterThanEqual(Double rating, Pageable pageable);
+
+    Slice<Movie> findSliceByRatingGreaterThanEqual(Double rating, Pageable pageable);
+
+    // Keyset pagination: each query seeks past the last row of the previous page, so the
+    // cost of a page does not grow with its depth. Pass PageRequest.of(0, limit) to bound it.
+    // The descending sorts bound the leading column first (x <= :x and (x < :x or id > :afterId))
+    // so the database can seek into the matching descending index and read the page in order.
+
+    @Query("select m from Movie m where m.id > :afterId order by m.id")
+    List<Movie> findPageAfterId(@Param("afterId") Long afterId, Pageable limit);
+
+    // Rated movies only: the unrated ones sort last and are paged by findUnratedPageAfterId
+    @Query("select m from Movie m where m.rating <= :rating and (m.rating < :rating or m.id > :afterId) "
+            + "order by m.rating desc, m.id")
+    List<Movie> findPageAfterRating(@Param("rating") Double rating, @Param("afterId") Long afterId, Pageable limit);
+
+    // The rating is null throughout, but ordering by it too matches idx_movies_rating_id
+    @Query("select m from Movie m where m.rating is null and m.id > :afterId order by m.rating desc nulls last, m.id")
+    List<Movie> findUnratedPageAfterId(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("select m from Movie m where m.releaseYear <= :releaseYear "
+            + "and (m.releaseYear < :releaseYear or m.id > :afterId) order by m.releaseYear desc, m.id")
+    List<Movie> findPageAfterReleaseYear(@Param("releaseYear") Integer releaseYear, @Param("afterId") Long afterId,
+                                         Pageable limit);
+
+    /**
+     * Applies the non-null fields to the row if it is still at {@code version}, bumping the
+     * version in the same statement. Returns 0 when the row is missing or was changed.
+     * The casts give null parameters a type, which Hibernate cannot infer inside coalesce.
+     * A null rating leaves the rating unchanged unless {@code clearRating} is set.
+     */
+    @Modifying
+    @Query("update Movie m set "
+            + "m.title = coalesce(cast(:title as String), m.title), "
+            + "m.genre = coalesce(cast(:genre as String), m.genre), "
+            + "m.director = coalesce(cast(:director as String), m.director), "
+            + "m.releaseYear = coalesce(cast(:releaseYear as Integer), m.releaseYear), "
+            + "m.rating = case when :clearRating = true then null "
+            + "else coalesce(cast(:rating as Double), m.rating) end, "
+            + "m.version = m.version + 1, "
+            + "m.updatedAt = :updatedAt "
+            + "where m.id = :id and m.version = :version")
+    int patchIfVersion(@Param("id") Long id, @Param("version") Long version,
+                       @Param("title") String title, @Param("genre") String genre,
+                       @Param("director") String director, @Param("releaseYear") Integer releaseYear,
+                       @Param("rating") Double rating, @Param("clearRating") boolean clearRating,
+                       @Param("updatedAt") Instant updatedAt);
+
+    // Reads the row as committed by a bulk UPDATE, which bypasses the persistence context
+    @Query("select new com.mms.event.MovieSnapshot(m.id, m.title, m.genre, m.director, m.releaseYear, m.rating) "
+            + "from Movie m where m.id = :id")
+    Optional<MovieSnapshot> findSnapshotById(@Param("id") Long id);
+
+    // Unlike deleteById, does not load the entity first
+    @Modifying
+    @Query("delete from Movie m where m.id = :id")
+    int deleteMovieById(@Param("id") Long id);
+
+    // The next two always read from the primary: a read-write transaction is never routed to the
+    // replica. What they return is cached or compared against a client's ETag, so a row the replica
+    // has not caught up with yet would outlive the replication lag
+
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("select m from Movie m where m.id = :id")
+    Optional<Movie> findByIdOnPrimary(@Param("id") Long id);
+
+    @Transactional
+    @Query("select new com.mms.dto.MovieVersion(m.version, m.updatedAt) from Movie m where m.id = :id")
+    Optional<MovieVersion> findVersionById(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select m from Movie m order by m.id")
+    Stream<Movie> streamAll();
+}
@@ -0,0 +1,34 @@
+package com.mms.repository;
+
+import com.mms.dto.MovieField;
+import com.mms.dto.MovieView;
+import com.mms.entity.Movie;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Query fragment of {@link MovieRepository} for specification queries that Spring Data does
+ * not offer out of the box.
+ */
+public interface MovieSearchRepository {
+
+    /**
+     * Like {@code findAll(spec, pageable)} but without the COUNT query: one extra row is
+     * fetched to tell whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    Slice<Movie> findSlice(Specification<Movie> spec, Pageable pageable);
+
+    /**
+     * Selects only {@code fields} of the matching movies, as unmanaged {@link MovieView}
+     * rows. Supports {@code nullsLast()} orders.
+     */
+    @Transactional(readOnly = true)
+    List<MovieView> findViews(Specification<Movie> spec, Set<MovieField> fields, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,100 @@
+package com.mms.repository;
+
+import com.mms.dto.MovieField;
+import com.mms.dto.MovieView;
+import com.mms.entity.Movie;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.JpaOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+class MovieSearchRepositoryImpl implements MovieSearchRepository {
+
+    private final EntityManager entityManager;
+
+    MovieSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<Movie> findSlice(Specification<Movie> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Movie> query = cb.createQuery(Movie.class);
+        Root<Movie> root = query.from(Movie.class);
+        query.select(root).where(spec.toPredicate(root, query, cb));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+        }
+
+        List<Movie> movies = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = movies.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? movies.subList(0, pageable.getPageSize()) : movies, pageable, hasNext);
+    }
+
+    @Override
+    public List<MovieView> findViews(Specification<Movie> spec, Set<MovieField> fields, Sort sort,
+                                     long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Movie> root = query.from(Movie.class);
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field.property()).alias(field.property()))
+                .toList();
+        query.multiselect(selections).where(spec.toPredicate(root, query, cb));
+        query.orderBy(sort.stream().map(order -> toOrder(order, root, cb)).toList());
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> toView(tuple, fields))
+                .toList();
+    }
+
+    // QueryUtils.toOrders drops null handling, which the rating order relies on
+    private static Order toOrder(Sort.Order order, Root<Movie> root, CriteriaBuilder cb) {
+        JpaOrder jpaOrder = (JpaOrder) (order.isAscending()
+                ? cb.asc(root.get(order.getProperty()))
+                : cb.desc(root.get(order.getProperty())));
+        return switch (order.getNullHandling()) {
+            case NULLS_FIRST -> jpaOrder.nullPrecedence(NullPrecedence.FIRST);
+            case NULLS_LAST -> jpaOrder.nullPrecedence(NullPrecedence.LAST);
+            case NATIVE -> jpaOrder;
+        };
+    }
+
+    private static MovieView toView(Tuple tuple, Set<MovieField> fields) {
+        return new MovieView(fields,
+                get(tuple, fields, MovieField.ID, Long.class),
+                get(tuple, fields, MovieField.TITLE, String.class),
+                get(tuple, fields, MovieField.GENRE, String.class),
+                get(tuple, fields, MovieField.DIRECTOR, String.class),
+                get(tuple, fields, MovieField.RELEASE_YEAR, Integer.class),
+                get(tuple, fields, MovieField.RATING, Double.class),
+                get(tuple, fields, MovieField.VERSION, Long.class),
+                get(tuple, fields, MovieField.UPDATED_AT, Instant.class));
+    }
+
+    private static <T> T get(Tuple tuple, Set<MovieField> fields, MovieField field, Class<T> type) {
+        return fields.contains(field) ? tuple.get(field.property(), type) : null;
+    }
+}
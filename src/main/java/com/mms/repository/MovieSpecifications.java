@@ -0,0 +1,94 @@
+package com.mms.repository;
+
+import com.mms.dto.MovieCursor;
+import com.mms.dto.MovieSearchCriteria;
+import com.mms.dto.MovieSortKey;
+import com.mms.entity.Movie;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates {@link MovieSearchCriteria} into a single conjunctive predicate so a combined
+ * search runs as one query that can use the composite genre indexes.
+ */
+public final class MovieSpecifications {
+
+    private MovieSpecifications() {
+    }
+
+    /**
+     * Rows after {@code after} in the order of {@code sort}, mirroring the keyset queries of
+     * {@link MovieRepository}; all rows when {@code after} is {@code null}. Sorted by rating,
+     * only rated rows match until the cursor reaches the unrated ones, which are read
+     * separately with {@link #unrated()}.
+     */
+    public static Specification<Movie> keysetAfter(MovieSortKey sort, MovieCursor after) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            return switch (sort) {
+                case ID -> after == null ? cb.conjunction() : cb.greaterThan(id, after.id());
+                case RATING -> {
+                    Path<Double> rating = root.get("rating");
+                    if (after == null) {
+                        yield cb.isNotNull(rating);
+                    }
+                    if (after.value() == null) {
+                        yield cb.and(cb.isNull(rating), cb.greaterThan(id, after.id()));
+                    }
+                    yield cb.and(cb.lessThanOrEqualTo(rating, after.ratingValue()),
+                            cb.or(cb.lessThan(rating, after.ratingValue()), cb.greaterThan(id, after.id())));
+                }
+                case RELEASE_YEAR -> {
+                    if (after == null) {
+                        yield cb.conjunction();
+                    }
+                    Path<Integer> releaseYear = root.get("releaseYear");
+                    yield cb.and(cb.lessThanOrEqualTo(releaseYear, after.releaseYearValue()),
+                            cb.or(cb.lessThan(releaseYear, after.releaseYearValue()), cb.greaterThan(id, after.id())));
+                }
+            };
+        };
+    }
+
+    /** The unrated rows, which follow every rated one in the rating order. */
+    public static Specification<Movie> unrated() {
+        return (root, query, cb) -> cb.isNull(root.get("rating"));
+    }
+
+    public static Specification<Movie> matching(MovieSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!criteria.genre().isEmpty()) {
+                predicates.add(equalOrIn(root.get("genre"), criteria.genre(), cb));
+            }
+            if (!criteria.director().isEmpty()) {
+                predicates.add(equalOrIn(root.get("director"), criteria.director(), cb));
+            }
+            if (criteria.title() != null && !criteria.title().isBlank()) {
+                predicates.add(cb.equal(root.get("title"), criteria.title()));
+            }
+            if (criteria.yearFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("releaseYear"), criteria.yearFrom()));
+            }
+            if (criteria.yearTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("releaseYear"), criteria.yearTo()));
+            }
+            if (criteria.minRating() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("rating"), criteria.minRating()));
+            }
+            if (criteria.maxRating() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("rating"), criteria.maxRating()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Predicate equalOrIn(Path<String> path, List<String> values, CriteriaBuilder cb) {
+        return values.size() == 1 ? cb.equal(path, values.get(0)) : path.in(values);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mms.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures the SQL that Hibernate sends while {@link #record} runs on the current thread, so
+ * query plans can be checked for the statements the repositories really generate. Registered
+ * as the session factory's statement inspector; outside a recording it passes SQL through.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    /** Runs {@code work} and returns the SQL statements it sent, in order. */
+    public static List<String> record(Runnable work) {
+        List<String> previous = RECORDED.get();
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            work.run();
+        } finally {
+            if (previous != null) {
+                RECORDED.set(previous);
+            } else {
+                RECORDED.remove();
+            }
+        }
+        return recorded;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+}
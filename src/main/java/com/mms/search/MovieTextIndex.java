@@ -0,0 +1,278 @@
+package com.mms.search;
+
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.service.MovieService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over movie titles and directors. Terms are kept in a sorted map
+ * so the last query term can be completed as a prefix (typeahead), and near misses are
+ * found by bounded edit distance over terms sharing the first letter. Every query term
+ * must match; scores favour exact over prefix over fuzzy matches and titles that start
+ * with the query.
+ *
+ * <p>The index is built from the repository when the application is ready and then kept
+ * current from {@link MovieChangedEvent}s, so searches never touch the database.
+ */
+@Component
+public class MovieTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieTextIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final double EXACT_SCORE = 1.0;
+    private static final double PREFIX_SCORE = 0.5;
+    private static final double FUZZY_SCORE = 0.4;
+    private static final double TITLE_PREFIX_BOOST = 1.0;
+
+    private final MovieService movieService;
+    private final boolean enabled;
+    private final int maxExpansions;
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+    // Writers serialize on this lock; readers go lock-free and tolerate in-flight updates
+    private final Object writeLock = new Object();
+    private Set<Long> changedDuringRebuild;
+
+    public MovieTextIndex(MovieService movieService, TextSearchProperties properties) {
+        this.movieService = movieService;
+        this.enabled = properties.enabled();
+        this.maxExpansions = properties.maxExpansions();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        synchronized (writeLock) {
+            documents.clear();
+            postings.clear();
+            changedDuringRebuild = new HashSet<>();
+        }
+        movieService.streamAllMovies(movie -> {
+            synchronized (writeLock) {
+                // A change event that arrived during the scan is newer than the scanned row
+                if (!changedDuringRebuild.contains(movie.getId())) {
+                    add(MovieSnapshot.of(movie));
+                }
+            }
+        });
+        synchronized (writeLock) {
+            changedDuringRebuild = null;
+        }
+        log.info("Text index built: {} movies, {} terms in {} ms",
+                documents.size(), postings.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.id());
+            }
+            remove(event.id());
+            if (event.movie() != null) {
+                add(event.movie());
+            }
+        }
+    }
+
+    public List<TextSearchHit> search(String query, int limit, boolean fuzzy) {
+        if (!enabled) {
+            throw new IllegalStateException("Text search is disabled");
+        }
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            boolean last = i == terms.size() - 1;
+            Map<Long, Double> termScores = matchTerm(terms.get(i), last, fuzzy);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Double> combined = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                    Double score = termScores.get(entry.getKey());
+                    if (score != null) {
+                        combined.put(entry.getKey(), entry.getValue() + score);
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        String normalizedQuery = String.join(" ", terms);
+        Comparator<TextSearchHit> ranking = Comparator.comparingDouble(TextSearchHit::score)
+                .thenComparing(hit -> -hit.title().length())
+                .thenComparing(hit -> -hit.id());
+        PriorityQueue<TextSearchHit> top = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            Document document = documents.get(entry.getKey());
+            if (document == null) {
+                continue;
+            }
+            double score = entry.getValue();
+            if (document.normalizedTitle().startsWith(normalizedQuery)) {
+                score += TITLE_PREFIX_BOOST;
+            }
+            top.offer(new TextSearchHit(document.id(), document.title(), document.director(), score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<TextSearchHit> hits = new ArrayList<>(top);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private Map<Long, Double> matchTerm(String term, boolean prefix, boolean fuzzy) {
+        Map<Long, Double> matches = new HashMap<>();
+        Set<Long> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach(id -> matches.put(id, EXACT_SCORE));
+        }
+        if (prefix) {
+            int expansions = 0;
+            for (Map.Entry<String, Set<Long>> entry
+                    : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > maxExpansions) {
+                    break;
+                }
+                // Completions closer in length to the typed prefix rank higher
+                double score = PREFIX_SCORE * term.length() / entry.getKey().length();
+                entry.getValue().forEach(id -> matches.merge(id, score, Math::max));
+            }
+        }
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (fuzzy && maxEdits > 0) {
+            String first = term.substring(0, 1);
+            int expansions = 0;
+            for (Map.Entry<String, Set<Long>> entry
+                    : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String candidate = entry.getKey();
+                if (Math.abs(candidate.length() - term.length()) > maxEdits || candidate.equals(term)) {
+                    continue;
+                }
+                int distance = boundedEditDistance(term, candidate, maxEdits);
+                if (distance <= maxEdits) {
+                    double score = FUZZY_SCORE / distance;
+                    entry.getValue().forEach(id -> matches.merge(id, score, Math::max));
+                    if (++expansions >= maxExpansions) {
+                        break;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void add(MovieSnapshot movie) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(movie.title()));
+        terms.addAll(tokenize(movie.director()));
+        String normalizedTitle = String.join(" ", tokenize(movie.title()));
+        documents.put(movie.id(), new Document(movie.id(), movie.title(), movie.director(), normalizedTitle, terms));
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(movie.id());
+        }
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Levenshtein distance that gives up once every alignment exceeds {@code max}; returns
+     * {@code max + 1} in that case.
+     */
+    static int boundedEditDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private record Document(Long id, String title, String director, String normalizedTitle, Set<String> terms) {
+    }
+}
@@ -0,0 +1,4 @@
+package com.mms.search;
+
+public record TextSearchHit(Long id, String title, String director, double score) {
+}
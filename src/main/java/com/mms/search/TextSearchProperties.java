@@ -0,0 +1,15 @@
+package com.mms.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Full-text index settings ({@code mms.search.text.*}). {@code maxExpansions} bounds how
+ * many indexed terms a prefix or fuzzy query term may expand to, which keeps typeahead
+ * latency flat for short prefixes.
+ */
+@ConfigurationProperties(prefix = "mms.search.text")
+public record TextSearchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200") int maxExpansions) {
+}
@@ -0,0 +1,18 @@
+package com.mms.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bulk endpoint settings ({@code mms.bulk.*}). {@code chunkSize} is the number of items
+ * committed per transaction; the JDBC batch size is configured through Hibernate.
+ */
+@ConfigurationProperties(prefix = "mms.bulk")
+public record BulkProperties(@DefaultValue("500") int chunkSize) {
+
+    public BulkProperties {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("mms.bulk.chunk-size must be positive");
+        }
+    }
+}
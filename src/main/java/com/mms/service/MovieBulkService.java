@@ -0,0 +1,207 @@
+package com.mms.service;
+
+import com.mms.dto.BulkItemResult;
+import com.mms.dto.BulkItemStatus;
+import com.mms.dto.BulkResult;
+import com.mms.entity.Movie;
+import com.mms.repository.MovieRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies bulk create/update/delete requests in chunks of {@code mms.bulk.chunk-size} items,
+ * one transaction per chunk, so Hibernate can send each chunk as JDBC batches. Items are
+ * validated individually; when a chunk fails to commit it is replayed item by item so a
+ * single bad row only fails itself.
+ */
+@Service
+@Timed(value = "mms.service", histogram = true)
+public class MovieBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieBulkService.class);
+
+    private final MovieService movieService;
+    private final MovieRepository movieRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public MovieBulkService(MovieService movieService, MovieRepository movieRepository, Validator validator,
+                            TransactionTemplate transactionTemplate, BulkProperties properties) {
+        this.movieService = movieService;
+        this.movieRepository = movieRepository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = properties.chunkSize();
+    }
+
+    public BulkResult createMovies(Iterator<Movie> movies) {
+        return process(movies, movie -> validate(movie, false), this::createChunk);
+    }
+
+    public BulkResult updateMovies(Iterator<Movie> movies) {
+        return process(movies, movie -> {
+            Map<String, String> errors = validate(movie, true);
+            if (movie != null && movie.getId() == null) {
+                errors.put("id", "Id is required");
+            }
+            return errors;
+        }, this::updateChunk);
+    }
+
+    public BulkResult deleteMovies(Iterator<Long> ids) {
+        return process(ids, id -> {
+            Map<String, String> errors = new LinkedHashMap<>();
+            if (id == null) {
+                errors.put("id", "Id is required");
+            }
+            return errors;
+        }, this::deleteChunk);
+    }
+
+    private <T> BulkResult process(Iterator<T> items, Function<T, Map<String, String>> validation,
+                                   Function<List<Item<T>>, List<BulkItemResult>> writer) {
+        List<BulkItemResult> results = new ArrayList<>();
+        List<Item<T>> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (items.hasNext()) {
+            T value = items.next();
+            Map<String, String> errors = validation.apply(value);
+            if (errors.isEmpty()) {
+                chunk.add(new Item<>(index, value));
+            } else {
+                results.add(BulkItemResult.invalid(index, idOf(value), errors));
+            }
+            if (chunk.size() == chunkSize) {
+                results.addAll(writeChunk(chunk, writer));
+                chunk = new ArrayList<>(chunkSize);
+            }
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(writeChunk(chunk, writer));
+        }
+        results.sort(Comparator.comparingInt(BulkItemResult::index));
+        return BulkResult.of(results);
+    }
+
+    private <T> List<BulkItemResult> writeChunk(List<Item<T>> chunk, Function<List<Item<T>>, List<BulkItemResult>> writer) {
+        try {
+            return transactionTemplate.execute(status -> writer.apply(chunk));
+        } catch (RuntimeException ex) {
+            if (chunk.size() == 1) {
+                Item<T> item = chunk.get(0);
+                return List.of(BulkItemResult.failed(item.index(), idOf(item.value()), rootMessage(ex)));
+            }
+            log.warn("Bulk chunk of {} items failed, retrying item by item: {}", chunk.size(), rootMessage(ex));
+            List<BulkItemResult> results = new ArrayList<>(chunk.size());
+            for (Item<T> item : chunk) {
+                results.addAll(writeChunk(List.of(item), writer));
+            }
+            return results;
+        }
+    }
+
+    private List<BulkItemResult> createChunk(List<Item<Movie>> chunk) {
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (Item<Movie> item : chunk) {
+            Movie movie = item.value();
+            movie.setId(null);
+            Movie created = movieService.createMovie(movie);
+            results.add(BulkItemResult.of(item.index(), created.getId(), BulkItemStatus.CREATED));
+        }
+        return results;
+    }
+
+    private List<BulkItemResult> updateChunk(List<Item<Movie>> chunk) {
+        // One IN query loads the whole chunk into the persistence context, so the per-item
+        // lookups inside updateMovie are served without further round trips
+        Set<Long> existing = loadExisting(chunk.stream().map(item -> item.value().getId()).toList());
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (Item<Movie> item : chunk) {
+            Long id = item.value().getId();
+            if (existing.contains(id)) {
+                movieService.updateMovie(id, item.value());
+                results.add(BulkItemResult.of(item.index(), id, BulkItemStatus.UPDATED));
+            } else {
+                results.add(BulkItemResult.of(item.index(), id, BulkItemStatus.NOT_FOUND));
+            }
+        }
+        return results;
+    }
+
+    private List<BulkItemResult> deleteChunk(List<Item<Long>> chunk) {
+        Set<Long> existing = loadExisting(chunk.stream().map(Item::value).toList());
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (Item<Long> item : chunk) {
+            Long id = item.value();
+            if (existing.remove(id)) {
+                movieService.deleteMovie(id);
+                results.add(BulkItemResult.of(item.index(), id, BulkItemStatus.DELETED));
+            } else {
+                results.add(BulkItemResult.of(item.index(), id, BulkItemStatus.NOT_FOUND));
+            }
+        }
+        return results;
+    }
+
+    private Set<Long> loadExisting(List<Long> ids) {
+        return movieRepository.findAllById(ids).stream()
+                .map(Movie::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Validates a movie against its bean constraints. For partial updates only the fields
+     * that are present are checked, matching the semantics of {@link MovieService#updateMovie}.
+     */
+    private Map<String, String> validate(Movie movie, boolean partial) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (movie == null) {
+            errors.put("movie", "Movie cannot be null");
+            return errors;
+        }
+        for (ConstraintViolation<Movie> violation : validator.validate(movie)) {
+            if (partial && violation.getInvalidValue() == null) {
+                continue;
+            }
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private static Long idOf(Object value) {
+        if (value instanceof Movie movie) {
+            return movie.getId();
+        }
+        return value instanceof Long id ? id : null;
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record Item<T>(int index, T value) {
+    }
+}
@@ -1,39 +1,201 @@
 package com.mms.service;
 
+import com.mms.cache.MovieCache;
+import com.mms.cache.MovieCacheStats;
+import com.mms.columnar.ColumnarMovieIndex;
+import com.mms.dto.CursorPage;
+import com.mms.dto.MovieCursor;
+import com.mms.dto.MovieField;
+import com.mms.dto.MoviePatch;
+import com.mms.dto.MovieSearchCriteria;
+import com.mms.dto.MovieSortKey;
+import com.mms.dto.MovieVersion;
+import com.mms.dto.MovieView;
 import com.mms.entity.Movie;
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.exception.BadRequestException;
 import com.mms.exception.MovieNotFoundException;
+import com.mms.exception.MovieValidationException;
+import com.mms.exception.PreconditionFailedException;
 import com.mms.repository.MovieRepository;
+import com.mms.repository.MovieSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "mms.service", histogram = true)
 @Transactional
 public class MovieService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final MovieRepository movieRepository;
+    private final EntityManager entityManager;
+    private final MovieCache movieCache;
+    private final ColumnarMovieIndex columnarIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
 
     @Autowired
-    public MovieService(MovieRepository movieRepository) {
+    public MovieService(MovieRepository movieRepository, EntityManager entityManager, MovieCache movieCache,
+                        ColumnarMovieIndex columnarIndex, ApplicationEventPublisher eventPublisher,
+                        Validator validator) {
         this.movieRepository = movieRepository;
+        this.entityManager = entityManager;
+        this.movieCache = movieCache;
+        this.columnarIndex = columnarIndex;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+    }
+
+    /**
+     * Returns at most {@code size} movies positioned after {@code cursor} (or from the start
+     * when it is {@code null}) in the given order, seeking on the sort column and id.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Movie> getMoviesPage(MovieSortKey sort, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        MovieCursor after = cursor == null || cursor.isBlank() ? null : MovieCursor.decode(cursor, sort);
+        // One extra row tells us whether another page exists without a count query
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Movie> movies = switch (sort) {
+            case ID -> movieRepository.findPageAfterId(after == null ? 0L : after.id(), limit);
+            case RATING -> {
+                if (after != null && after.value() == null) {
+                    yield movieRepository.findUnratedPageAfterId(after.id(), limit);
+                }
+                List<Movie> rated = after == null
+                        ? movieRepository.findPageAfterRating(Double.MAX_VALUE, 0L, limit)
+                        : movieRepository.findPageAfterRating(after.ratingValue(), after.id(), limit);
+                yield withUnratedTail(rated, size + 1,
+                        remaining -> movieRepository.findUnratedPageAfterId(0L, PageRequest.of(0, remaining)));
+            }
+            case RELEASE_YEAR -> after == null
+                    ? movieRepository.findPageAfterReleaseYear(Integer.MAX_VALUE, 0L, limit)
+                    : movieRepository.findPageAfterReleaseYear(after.releaseYearValue(), after.id(), limit);
+        };
+
+        boolean hasNext = movies.size() > size;
+        List<Movie> items = hasNext ? movies.subList(0, size) : movies;
+        String nextCursor = hasNext ? MovieCursor.after(sort, items.get(size - 1)).encode() : null;
+        return new CursorPage<>(items, nextCursor, hasNext);
+    }
+
+    /**
+     * Keyset page like {@link #getMoviesPage} that selects only {@code fields} instead of
+     * hydrating entities. The id and the sort column are always read so the cursor can be
+     * built, but are only rendered when requested.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MovieView> getMovieViewsPage(MovieSortKey sort, String cursor, int size, Set<MovieField> fields) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        MovieCursor after = cursor == null || cursor.isBlank() ? null : MovieCursor.decode(cursor, sort);
+        Set<MovieField> selected = EnumSet.copyOf(fields);
+        selected.add(MovieField.ID);
+        if (sort.column() != null) {
+            selected.add(sort.column());
+        }
+
+        List<MovieView> views = movieRepository.findViews(MovieSpecifications.keysetAfter(sort, after), selected,
+                sort.order(), 0, size + 1);
+        if (sort == MovieSortKey.RATING && (after == null || after.value() != null)) {
+            views = withUnratedTail(views, size + 1, remaining -> movieRepository.findViews(
+                    MovieSpecifications.unrated(), selected, sort.order(), 0, remaining));
+        }
+
+        boolean hasNext = views.size() > size;
+        List<MovieView> items = hasNext ? views.subList(0, size) : views;
+        String nextCursor = hasNext ? MovieCursor.after(sort, items.get(size - 1)).encode() : null;
+        return new CursorPage<>(items.stream().map(view -> view.withFields(fields)).toList(), nextCursor, hasNext);
     }
 
-    public List<Movie> getAllMovies() {
-        return movieRepository.findAll();
+    /**
+     * Feeds every movie to {@code consumer} in id order from a database cursor. Each entity is
+     * detached once consumed so the persistence context, and the heap, stay flat regardless
+     * of table size.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllMovies(Consumer<Movie> consumer) {
+        try (Stream<Movie> movies = movieRepository.streamAll()) {
+            movies.forEach(movie -> {
+                consumer.accept(movie);
+                entityManager.detach(movie);
+            });
+        }
     }
 
+    // No transaction of its own: cache hits must not check out a connection, and a miss is
+    // loaded from the primary, never the replica, because the result stays cached
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Movie getMovieById(Long id) {
-        return movieRepository.findById(id)
+        return movieCache.get(id, movieRepository::findByIdOnPrimary)
                 .orElseThrow(() -> new MovieNotFoundException("Movie not found with id: " + id));
     }
 
+    /**
+     * Resolves the validators of a movie for conditional requests: from the cache when the
+     * movie is cached, otherwise with a projection query on the primary that does not hydrate
+     * the entity.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public MovieVersion getMovieVersion(Long id) {
+        Movie cached = movieCache.peek(id);
+        if (cached != null) {
+            return MovieVersion.of(cached);
+        }
+        return movieRepository.findVersionById(id)
+                .orElseThrow(() -> new MovieNotFoundException("Movie not found with id: " + id));
+    }
+
+    public MovieCacheStats getCacheStats() {
+        return movieCache.stats();
+    }
+
     public Movie createMovie(Movie movie) {
         if (movie == null) {
             throw new IllegalArgumentException("Movie cannot be null");
         }
-        return movieRepository.save(movie);
+        // With a version attribute, save() persists whenever the version is unset; a client-supplied
+        // id would then be rejected as a detached entity rather than silently overwriting a row
+        movie.setId(null);
+        Movie savedMovie = movieRepository.save(movie);
+        // The new id may have been probed before and be remembered as missing
+        movieCache.invalidate(savedMovie.getId());
+        eventPublisher.publishEvent(MovieChangedEvent.created(MovieSnapshot.of(savedMovie)));
+        return savedMovie;
     }
 
     public Movie updateMovie(Long id, Movie movieDetails) {
@@ -41,7 +203,8 @@ public class MovieService {
             throw new IllegalArgumentException("Movie details cannot be null");
         }
         
-        Movie movie = getMovieById(id);
+        // Writes load the managed row directly so they never mutate a cached instance
+        Movie movie = findMovieForWrite(id);
         
         if (movieDetails.getTitle() != null) {
             movie.setTitle(movieDetails.getTitle());
@@ -59,28 +222,223 @@ public class MovieService {
             movie.setRating(movieDetails.getRating());
         }
         
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        movieCache.invalidate(id);
+        eventPublisher.publishEvent(MovieChangedEvent.updated(MovieSnapshot.of(savedMovie)));
+        return savedMovie;
+    }
+
+    /**
+     * Partial update guarded by the version the client last saw. The version check, the
+     * field changes and the version bump are one UPDATE statement. A failed update costs a
+     * second query, to tell a missing movie (404) from a stale version (412); a successful
+     * one reads the row back so that listeners receive the whole movie.
+     *
+     * @return the validators of the updated movie
+     */
+    public MovieVersion patchMovie(Long id, Long expectedVersion, MoviePatch patch) {
+        if (patch == null || patch.changes() == null) {
+            throw new IllegalArgumentException("Movie details cannot be null");
+        }
+        validatePatch(patch);
+
+        Movie changes = patch.changes();
+        Instant updatedAt = Instant.now();
+        int updated = movieRepository.patchIfVersion(id, expectedVersion, changes.getTitle(), changes.getGenre(),
+                changes.getDirector(), changes.getReleaseYear(), changes.getRating(),
+                patch.cleared().contains(MovieField.RATING), updatedAt);
+        if (updated == 0) {
+            MovieVersion current = movieRepository.findVersionById(id)
+                    .orElseThrow(() -> new MovieNotFoundException("Movie not found with id: " + id));
+            throw new PreconditionFailedException("Movie " + id + " is at version " + current.version()
+                    + ", not " + expectedVersion);
+        }
+
+        movieCache.invalidate(id);
+        MovieSnapshot patched = movieRepository.findSnapshotById(id)
+                .orElseThrow(() -> new MovieNotFoundException("Movie not found with id: " + id));
+        eventPublisher.publishEvent(MovieChangedEvent.updated(patched));
+        return new MovieVersion(expectedVersion + 1, updatedAt);
     }
 
     public void deleteMovie(Long id) {
-        Movie movie = getMovieById(id);
-        movieRepository.delete(movie);
+        if (movieRepository.deleteMovieById(id) == 0) {
+            throw new MovieNotFoundException("Movie not found with id: " + id);
+        }
+        movieCache.invalidate(id);
+        eventPublisher.publishEvent(MovieChangedEvent.deleted(id));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Movie> getMoviesByGenre(String genre) {
-        return movieRepository.findByGenre(genre);
+        List<Long> ids = columnarIndex.findAllIds(MovieSearchCriteria.byGenre(genre));
+        return ids != null ? loadInOrder(ids) : movieRepository.findByGenre(genre);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Movie> getMoviesByDirector(String director) {
-        return movieRepository.findByDirector(director);
+        List<Long> ids = columnarIndex.findAllIds(MovieSearchCriteria.byDirector(director));
+        return ids != null ? loadInOrder(ids) : movieRepository.findByDirector(director);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Movie> getMoviesByReleaseYear(Integer releaseYear) {
-        return movieRepository.findByReleaseYear(releaseYear);
+        List<Long> ids = columnarIndex.findAllIds(MovieSearchCriteria.byReleaseYear(releaseYear));
+        return ids != null ? loadInOrder(ids) : movieRepository.findByReleaseYear(releaseYear);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Movie> getMoviesByRatingGreaterThanEqual(Double rating) {
-        return movieRepository.findByRatingGreaterThanEqual(rating);
+        List<Long> ids = columnarIndex.findAllIds(MovieSearchCriteria.byMinRating(rating));
+        return ids != null ? loadInOrder(ids) : movieRepository.findByRatingGreaterThanEqual(rating);
+    }
+
+    // Paged filters: with withCount the result is a Page carrying totals, otherwise a Slice
+    // that skips the COUNT(*) query. Filters and search are answered by the columnar index
+    // when it is enabled; they run without a transaction of their own so that those reads
+    // never check out a connection, and fall back to the repository's read-only transactions
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Movie> getMoviesByGenre(String genre, Pageable pageable, boolean withCount) {
+        Slice<Movie> indexed = fromColumnarIndex(MovieSearchCriteria.byGenre(genre), pageable, withCount);
+        if (indexed != null) {
+            return indexed;
+        }
+        return withCount
+                ? movieRepository.findByGenre(genre, pageable)
+                : movieRepository.findSliceByGenre(genre, pageable);
     }
-}
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Movie> getMoviesByDirector(String director, Pageable pageable, boolean withCount) {
+        Slice<Movie> indexed = fromColumnarIndex(MovieSearchCriteria.byDirector(director), pageable, withCount);
+        if (indexed != null) {
+            return indexed;
+        }
+        return withCount
+                ? movieRepository.findByDirector(director, pageable)
+                : movieRepository.findSliceByDirector(director, pageable);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Movie> getMoviesByReleaseYear(Integer releaseYear, Pageable pageable, boolean withCount) {
+        Slice<Movie> indexed = fromColumnarIndex(MovieSearchCriteria.byReleaseYear(releaseYear), pageable, withCount);
+        if (indexed != null) {
+            return indexed;
+        }
+        return withCount
+                ? movieRepository.findByReleaseYear(releaseYear, pageable)
+                : movieRepository.findSliceByReleaseYear(releaseYear, pageable);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Movie> getMoviesByRatingGreaterThanEqual(Double rating, Pageable pageable, boolean withCount) {
+        Slice<Movie> indexed = fromColumnarIndex(MovieSearchCriteria.byMinRating(rating), pageable, withCount);
+        if (indexed != null) {
+            return indexed;
+        }
+        return withCount
+                ? movieRepository.findByRatingGreaterThanEqual(rating, pageable)
+                : movieRepository.findSliceByRatingGreaterThanEqual(rating, pageable);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Movie> searchMovies(MovieSearchCriteria criteria, Pageable pageable, boolean withCount) {
+        criteria.validate();
+        Slice<Movie> indexed = fromColumnarIndex(criteria, pageable, withCount);
+        if (indexed != null) {
+            return indexed;
+        }
+        Specification<Movie> spec = MovieSpecifications.matching(criteria);
+        return withCount
+                ? movieRepository.findAll(spec, pageable)
+                : movieRepository.findSlice(spec, pageable);
+    }
+
+    /**
+     * {@link #searchMovies} selecting only {@code fields}. Genre, director, year and rating
+     * filters are all expressible as criteria, so every filtered listing goes through here.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<MovieView> searchMovieViews(MovieSearchCriteria criteria, Set<MovieField> fields,
+                                             Pageable pageable, boolean withCount) {
+        criteria.validate();
+        Slice<MovieView> indexed = columnarIndex.findViews(criteria, fields, pageable, withCount);
+        if (indexed != null) {
+            return indexed;
+        }
+        Specification<Movie> spec = MovieSpecifications.matching(criteria);
+        List<MovieView> views = movieRepository.findViews(spec, fields, pageable.getSort(), pageable.getOffset(),
+                withCount ? pageable.getPageSize() : pageable.getPageSize() + 1);
+        if (withCount) {
+            return new PageImpl<>(views, pageable, movieRepository.count(spec));
+        }
+        boolean hasNext = views.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? views.subList(0, pageable.getPageSize()) : views, pageable, hasNext);
+    }
+
+    private Slice<Movie> fromColumnarIndex(MovieSearchCriteria criteria, Pageable pageable, boolean withCount) {
+        Slice<Long> ids = columnarIndex.findIds(criteria, pageable, withCount);
+        if (ids == null) {
+            return null;
+        }
+        List<Movie> movies = loadInOrder(ids.getContent());
+        return ids instanceof Page<Long> page
+                ? new PageImpl<>(movies, pageable, page.getTotalElements())
+                : new SliceImpl<>(movies, pageable, ids.hasNext());
+    }
+
+    // Cached movies are reused and the rest loaded by primary key in one query; a movie
+    // deleted since the index answered is dropped from the result
+    private List<Movie> loadInOrder(List<Long> ids) {
+        Map<Long, Movie> movies = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Movie cached = movieCache.peek(id);
+            if (cached != null) {
+                movies.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            movieRepository.findAllById(missing).forEach(movie -> movies.put(movie.getId(), movie));
+        }
+        return ids.stream().map(movies::get).filter(Objects::nonNull).toList();
+    }
+
+    // Unrated movies sort after all rated ones. They are read by a query of their own once the
+    // rated rows run out, which keeps either query a single index range
+    private static <T> List<T> withUnratedTail(List<T> rated, int limit, IntFunction<List<T>> unrated) {
+        if (rated.size() >= limit) {
+            return rated;
+        }
+        List<T> page = new ArrayList<>(rated);
+        page.addAll(unrated.apply(limit - rated.size()));
+        return page;
+    }
+
+    // Absent fields are left unchanged by a partial update, so only present ones are checked;
+    // a field set to null must allow null, which only the rating does
+    private void validatePatch(MoviePatch patch) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<Movie> violation : validator.validate(patch.changes())) {
+            if (violation.getInvalidValue() != null) {
+                errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+        }
+        for (MovieField field : patch.cleared()) {
+            for (ConstraintViolation<Movie> violation : validator.validateValue(Movie.class, field.property(), null)) {
+                errors.putIfAbsent(field.property(), violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new MovieValidationException(errors);
+        }
+    }
+
+    private Movie findMovieForWrite(Long id) {
+        return movieRepository.findById(id)
+                .orElseThrow(() -> new MovieNotFoundException("Movie not found with id: " + id));
+    }
+}
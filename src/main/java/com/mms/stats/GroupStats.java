@@ -0,0 +1,8 @@
+package com.mms.stats;
+
+/**
+ * Count and average rating of a group of movies; {@code averageRating} is {@code null} when
+ * none of them is rated.
+ */
+public record GroupStats(long count, long ratedCount, Double averageRating) {
+}
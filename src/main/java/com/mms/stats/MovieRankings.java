@@ -0,0 +1,142 @@
+package com.mms.stats;
+
+import com.mms.event.MovieSnapshot;
+import com.mms.exception.BadRequestException;
+import com.mms.exception.StatisticsNotReadyException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Top-rated movies overall and per genre, director and release year. Every group keeps its
+ * rated movies in a skip list ordered by rating (highest first, ties by id), so a top-k
+ * list is the first k entries and a change moves one entry per list it belongs to instead
+ * of re-sorting anything. Unrated movies are not ranked.
+ *
+ * <p>Maintained by {@link MovieStatistics}, which already keeps the last known state of
+ * every movie: it adds and removes movies here as it builds and applies change events, so
+ * the rankings need neither a catalog copy nor a scan of their own. Entries point at those
+ * same snapshots. Like the statistics, they refuse reads until the startup scan is done.
+ */
+@Component
+public class MovieRankings {
+
+    public static final int MAX_LIMIT = 100;
+
+    private record Entry(double rating, long id, MovieSnapshot movie) implements Comparable<Entry> {
+
+        Entry(MovieSnapshot movie) {
+            this(movie.rating(), movie.id(), movie);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byRating = Double.compare(other.rating, rating);
+            return byRating != 0 ? byRating : Long.compare(id, other.id);
+        }
+    }
+
+    // Written only under MovieStatistics' lock; readers go lock-free and tolerate in-flight updates
+    private final NavigableSet<Entry> overall = new ConcurrentSkipListSet<>();
+    private final Map<String, NavigableSet<Entry>> byGenre = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Entry>> byDirector = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableSet<Entry>> byReleaseYear = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /** The {@code limit} highest rated movies of the whole catalog. */
+    public List<RankedMovie> top(int limit) {
+        return top(overall, limit);
+    }
+
+    /** The {@code limit} highest rated movies of one genre, director or release year. */
+    public List<RankedMovie> top(StatsDimension dimension, String key, int limit) {
+        NavigableSet<Entry> ranking = switch (dimension) {
+            case GENRE -> byGenre.get(key);
+            case DIRECTOR -> byDirector.get(key);
+            case YEAR -> byReleaseYear.get(parseYear(key));
+        };
+        return top(ranking, limit);
+    }
+
+    void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    int size() {
+        return overall.size();
+    }
+
+    void clear() {
+        overall.clear();
+        byGenre.clear();
+        byDirector.clear();
+        byReleaseYear.clear();
+    }
+
+    void add(MovieSnapshot movie) {
+        if (movie.rating() == null) {
+            return;
+        }
+        Entry entry = new Entry(movie);
+        overall.add(entry);
+        ranking(byGenre, movie.genre()).add(entry);
+        ranking(byDirector, movie.director()).add(entry);
+        ranking(byReleaseYear, movie.releaseYear()).add(entry);
+    }
+
+    // Entries compare by rating and id only, so the movie as it was added finds them
+    void remove(MovieSnapshot movie) {
+        if (movie.rating() == null) {
+            return;
+        }
+        Entry entry = new Entry(movie);
+        overall.remove(entry);
+        unrank(byGenre, movie.genre(), entry);
+        unrank(byDirector, movie.director(), entry);
+        unrank(byReleaseYear, movie.releaseYear(), entry);
+    }
+
+    private List<RankedMovie> top(NavigableSet<Entry> ranking, int limit) {
+        if (!ready) {
+            throw new StatisticsNotReadyException("Movie rankings are still being built");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<RankedMovie> top = new ArrayList<>(limit);
+        if (ranking == null) {
+            return top;
+        }
+        for (Entry entry : ranking) {
+            top.add(RankedMovie.of(top.size() + 1, entry.movie()));
+            if (top.size() == limit) {
+                break;
+            }
+        }
+        return top;
+    }
+
+    private static <K> NavigableSet<Entry> ranking(Map<K, NavigableSet<Entry>> rankings, K key) {
+        return rankings.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>());
+    }
+
+    private static <K> void unrank(Map<K, NavigableSet<Entry>> rankings, K key, Entry entry) {
+        NavigableSet<Entry> ranking = rankings.get(key);
+        if (ranking != null && ranking.remove(entry) && ranking.isEmpty()) {
+            rankings.remove(key);
+        }
+    }
+
+    private static Integer parseYear(String key) {
+        try {
+            return Integer.valueOf(key);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Release year must be a number: " + key);
+        }
+    }
+}
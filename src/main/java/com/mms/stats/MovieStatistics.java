@@ -0,0 +1,220 @@
+package com.mms.stats;
+
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.exception.BadRequestException;
+import com.mms.exception.StatisticsNotReadyException;
+import com.mms.service.MovieService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Per-genre, per-director and per-year counts and average ratings, kept in memory so they
+ * are answered without a GROUP BY. Built from the repository when the application is
+ * ready and then adjusted by every {@link MovieChangedEvent}: a change removes the movie's
+ * previous contribution and adds the new one. The last known state of every movie is kept
+ * for that purpose. The same pass and the same
+ * snapshots maintain the {@link MovieRankings}.
+ *
+ * <p>Until the startup scan has completed the aggregates cover only part of the catalog, so
+ * reads fail with {@link StatisticsNotReadyException} instead of returning them.
+ *
+ * <p>Rating sums are kept in millionths as longs, so any number of additions and removals
+ * cancel out exactly instead of accumulating floating point drift.
+ */
+@Component
+public class MovieStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieStatistics.class);
+
+    private static final double RATING_SCALE = 1_000_000d;
+
+    private final MovieService movieService;
+    private final MovieRankings rankings;
+
+    // All state is guarded by this; updates and reads are short
+    private final Map<Long, MovieSnapshot> movies = new HashMap<>();
+    private final Accumulator total = new Accumulator();
+    private final Map<String, Accumulator> byGenre = new HashMap<>();
+    private final Map<String, Accumulator> byDirector = new HashMap<>();
+    private final Map<Integer, Accumulator> byReleaseYear = new HashMap<>();
+    private Set<Long> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public MovieStatistics(MovieService movieService, MovieRankings rankings) {
+        this.movieService = movieService;
+        this.rankings = rankings;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        synchronized (this) {
+            ready = false;
+            rankings.setReady(false);
+            movies.clear();
+            total.reset();
+            byGenre.clear();
+            byDirector.clear();
+            byReleaseYear.clear();
+            rankings.clear();
+            changedDuringRebuild = new HashSet<>();
+        }
+        movieService.streamAllMovies(movie -> {
+            synchronized (this) {
+                // A change event that arrived during the scan is newer than the scanned row
+                if (!changedDuringRebuild.contains(movie.getId())) {
+                    add(MovieSnapshot.of(movie));
+                }
+            }
+        });
+        synchronized (this) {
+            changedDuringRebuild = null;
+            ready = true;
+            rankings.setReady(true);
+        }
+        log.info("Movie statistics built: {} movies ({} rated), {} genres, {} directors in {} ms",
+                movies.size(), rankings.size(), byGenre.size(), byDirector.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMovieChanged(MovieChangedEvent event) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(event.id());
+        }
+        remove(event.id());
+        if (event.movie() != null) {
+            add(event.movie());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized MovieStats stats() {
+        requireReady();
+        return new MovieStats(total.snapshot(), snapshot(byGenre), snapshot(byDirector), snapshot(byReleaseYear));
+    }
+
+    public synchronized GroupStats stats(StatsDimension dimension, String key) {
+        requireReady();
+        Accumulator accumulator = switch (dimension) {
+            case GENRE -> byGenre.get(key);
+            case DIRECTOR -> byDirector.get(key);
+            case YEAR -> byReleaseYear.get(parseYear(key));
+        };
+        return accumulator == null ? new GroupStats(0, 0, null) : accumulator.snapshot();
+    }
+
+    private void requireReady() {
+        if (!ready) {
+            throw new StatisticsNotReadyException("Movie statistics are still being built");
+        }
+    }
+
+    private void add(MovieSnapshot movie) {
+        movies.put(movie.id(), movie);
+        long rating = scaledRating(movie);
+        total.add(rating);
+        group(byGenre, movie.genre()).add(rating);
+        group(byDirector, movie.director()).add(rating);
+        group(byReleaseYear, movie.releaseYear()).add(rating);
+        rankings.add(movie);
+    }
+
+    private void remove(Long id) {
+        MovieSnapshot movie = movies.remove(id);
+        if (movie == null) {
+            return;
+        }
+        long rating = scaledRating(movie);
+        total.remove(rating);
+        ungroup(byGenre, movie.genre(), rating);
+        ungroup(byDirector, movie.director(), rating);
+        ungroup(byReleaseYear, movie.releaseYear(), rating);
+        rankings.remove(movie);
+    }
+
+    private static <K> Accumulator group(Map<K, Accumulator> groups, K key) {
+        return groups.computeIfAbsent(key, k -> new Accumulator());
+    }
+
+    private static <K> void ungroup(Map<K, Accumulator> groups, K key, long rating) {
+        Accumulator accumulator = groups.get(key);
+        if (accumulator != null && accumulator.remove(rating) == 0) {
+            groups.remove(key);
+        }
+    }
+
+    private static <K extends Comparable<K>> Map<K, GroupStats> snapshot(Map<K, Accumulator> groups) {
+        Map<K, GroupStats> result = new TreeMap<>();
+        groups.forEach((key, accumulator) -> {
+            if (key != null) {
+                result.put(key, accumulator.snapshot());
+            }
+        });
+        return result;
+    }
+
+    // Unrated movies count toward totals but not toward averages
+    private static long scaledRating(MovieSnapshot movie) {
+        return movie.rating() == null ? Accumulator.UNRATED : Math.round(movie.rating() * RATING_SCALE);
+    }
+
+    private static Integer parseYear(String key) {
+        try {
+            return Integer.valueOf(key);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Release year must be a number: " + key);
+        }
+    }
+
+    private static final class Accumulator {
+
+        static final long UNRATED = Long.MIN_VALUE;
+
+        private long count;
+        private long ratedCount;
+        private long ratingSum;
+
+        void add(long rating) {
+            count++;
+            if (rating != UNRATED) {
+                ratedCount++;
+                ratingSum += rating;
+            }
+        }
+
+        long remove(long rating) {
+            count--;
+            if (rating != UNRATED) {
+                ratedCount--;
+                ratingSum -= rating;
+            }
+            return count;
+        }
+
+        void reset() {
+            count = 0;
+            ratedCount = 0;
+            ratingSum = 0;
+        }
+
+        GroupStats snapshot() {
+            Double average = ratedCount == 0 ? null : ratingSum / RATING_SCALE / ratedCount;
+            return new GroupStats(count, ratedCount, average);
+        }
+    }
+}
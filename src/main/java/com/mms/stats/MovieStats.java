@@ -0,0 +1,9 @@
+package com.mms.stats;
+
+import java.util.Map;
+
+public record MovieStats(GroupStats total,
+                         Map<String, GroupStats> byGenre,
+                         Map<String, GroupStats> byDirector,
+                         Map<Integer, GroupStats> byReleaseYear) {
+}
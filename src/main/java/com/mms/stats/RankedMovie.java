@@ -0,0 +1,15 @@
+package com.mms.stats;
+
+import com.mms.event.MovieSnapshot;
+
+/**
+ * One entry of a top-rated list; {@code rank} starts at 1.
+ */
+public record RankedMovie(int rank, Long id, String title, String genre, String director, Integer releaseYear,
+                          Double rating) {
+
+    static RankedMovie of(int rank, MovieSnapshot movie) {
+        return new RankedMovie(rank, movie.id(), movie.title(), movie.genre(), movie.director(),
+                movie.releaseYear(), movie.rating());
+    }
+}
@@ -0,0 +1,20 @@
+package com.mms.stats;
+
+import com.mms.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum StatsDimension {
+    GENRE,
+    DIRECTOR,
+    YEAR;
+
+    public static StatsDimension fromParameter(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown dimension '" + value
+                    + "', expected one of genre, director, year");
+        }
+    }
+}
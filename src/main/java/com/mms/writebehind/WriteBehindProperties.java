@@ -0,0 +1,30 @@
+package com.mms.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous create settings ({@code mms.write-behind.*}). When enabled,
+ * {@code POST /api/movies} queues up to {@code queueCapacity} validated movies and a single
+ * writer commits them {@code batchSize} at a time, waiting at most {@code maxBatchDelay} for
+ * a batch to fill. At most {@code statusMaximumSize} write statuses are kept, each for
+ * {@code statusRetention}.
+ */
+@ConfigurationProperties(prefix = "mms.write-behind")
+public record WriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20ms") Duration maxBatchDelay,
+        @DefaultValue("100000") long statusMaximumSize,
+        @DefaultValue("10m") Duration statusRetention,
+        @DefaultValue("30s") Duration shutdownTimeout) {
+
+    public WriteBehindProperties {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("mms.write-behind.queue-capacity and batch-size must be positive");
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.mms.writebehind;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mms.entity.Movie;
+import com.mms.exception.WriteNotFoundException;
+import com.mms.exception.WriteQueueFullException;
+import com.mms.service.MovieService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind for movie creation. Accepted movies wait in a bounded in-memory queue; one
+ * writer thread drains it and commits everything that arrived together as a single JDBC
+ * batched transaction, so request threads never hold a connection. A full queue rejects new
+ * writes instead of growing.
+ *
+ * <p>On shutdown the queue stops accepting and the writer flushes what is left before the
+ * connection pool closes. Writes still queued when the process dies abruptly are lost.
+ */
+@Service
+public class WriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private record PendingWrite(WriteStatus status, Movie movie) {
+    }
+
+    private final MovieService movieService;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindProperties properties;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Cache<String, WriteStatus> statuses;
+    private final Thread writer;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    // Submitters check accepting and enqueue under the read lock; shutdown flips it under the
+    // write lock, so once the writer sees it false no further write can reach the queue
+    private final ReadWriteLock admission = new ReentrantReadWriteLock();
+    private volatile boolean accepting = true;
+
+    @Autowired
+    public WriteBehindQueue(MovieService movieService, TransactionTemplate transactionTemplate,
+                            WriteBehindProperties properties) {
+        this.movieService = movieService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(properties.statusMaximumSize())
+                .expireAfterWrite(properties.statusRetention())
+                .build();
+        if (properties.enabled()) {
+            this.writer = new Thread(this::drain, "movie-write-behind");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    /** Queues an already validated movie for creation. */
+    public WriteStatus submit(Movie movie) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Write-behind is disabled");
+        }
+        admission.readLock().lock();
+        try {
+            if (!accepting) {
+                rejected.incrementAndGet();
+                throw new WriteQueueFullException("Write queue is shutting down");
+            }
+            WriteStatus status = WriteStatus.queued(UUID.randomUUID().toString(), Instant.now());
+            statuses.put(status.trackingId(), status);
+            if (!queue.offer(new PendingWrite(status, movie))) {
+                statuses.invalidate(status.trackingId());
+                rejected.incrementAndGet();
+                throw new WriteQueueFullException("Write queue is full (" + properties.queueCapacity() + " pending)");
+            }
+            accepted.incrementAndGet();
+            return status;
+        } finally {
+            admission.readLock().unlock();
+        }
+    }
+
+    public WriteStatus getStatus(String trackingId) {
+        WriteStatus status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new WriteNotFoundException("Write not found with tracking id: " + trackingId);
+        }
+        return status;
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    public WriteQueueStats stats() {
+        return new WriteQueueStats(isEnabled(), queue.size(), properties.queueCapacity(), accepted.get(),
+                rejected.get(), committed.get(), failed.get(), batches.get());
+    }
+
+    public long acceptedCount() {
+        return accepted.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    public long committedCount() {
+        return committed.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    public long batchCount() {
+        return batches.get();
+    }
+
+    // Runs before the connection pool is closed: this bean depends on MovieService, and
+    // through it on the data source
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        admission.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        writer.join(properties.shutdownTimeout().toMillis());
+        if (writer.isAlive()) {
+            log.warn("Write-behind queue not flushed within {}; {} queued writes are lost",
+                    properties.shutdownTimeout(), queue.size());
+        }
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(properties.batchSize());
+        try {
+            while (true) {
+                PendingWrite first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    // accepting is read first: once it is false the queue can only shrink
+                    if (!accepting && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Coalesces writes arriving within maxBatchDelay of the first one; stops lingering as soon
+    // as shutdown starts
+    private void fill(List<PendingWrite> batch) throws InterruptedException {
+        int batchSize = properties.batchSize();
+        long deadline = System.nanoTime() + properties.maxBatchDelay().toNanos();
+        while (batch.size() < batchSize && accepting) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            PendingWrite next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+        queue.drainTo(batch, batchSize - batch.size());
+    }
+
+    private void write(List<PendingWrite> batch) {
+        batches.incrementAndGet();
+        try {
+            List<Movie> created = transactionTemplate.execute(tx -> batch.stream()
+                    .map(pending -> movieService.createMovie(pending.movie()))
+                    .toList());
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i).status().committed(created.get(i).getId()));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Write-behind batch of {} failed, retrying one by one: {}", batch.size(), ex.getMessage());
+            for (PendingWrite pending : batch) {
+                writeOne(pending);
+            }
+        }
+    }
+
+    private void writeOne(PendingWrite pending) {
+        try {
+            Movie created = transactionTemplate.execute(tx -> movieService.createMovie(pending.movie()));
+            complete(pending.status().committed(created.getId()));
+        } catch (RuntimeException ex) {
+            complete(pending.status().failed(rootMessage(ex)));
+        }
+    }
+
+    private void complete(WriteStatus status) {
+        statuses.put(status.trackingId(), status);
+        if (status.state() == WriteStatus.State.COMMITTED) {
+            committed.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,15 @@
+package com.mms.writebehind;
+
+/**
+ * Counters of the write-behind queue since startup. {@code committed / batches} is the
+ * average number of writes coalesced into one transaction.
+ */
+public record WriteQueueStats(boolean enabled,
+                              int depth,
+                              int capacity,
+                              long accepted,
+                              long rejected,
+                              long committed,
+                              long failed,
+                              long batches) {
+}
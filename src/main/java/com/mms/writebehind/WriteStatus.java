@@ -0,0 +1,33 @@
+package com.mms.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * Status resource of a queued write. {@code movieId} is known once the write is committed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WriteStatus(String trackingId,
+                          State state,
+                          Long movieId,
+                          String error,
+                          Instant acceptedAt,
+                          Instant completedAt) {
+
+    public enum State {
+        QUEUED, COMMITTED, FAILED
+    }
+
+    static WriteStatus queued(String trackingId, Instant acceptedAt) {
+        return new WriteStatus(trackingId, State.QUEUED, null, null, acceptedAt, null);
+    }
+
+    WriteStatus committed(Long movieId) {
+        return new WriteStatus(trackingId, State.COMMITTED, movieId, null, acceptedAt, Instant.now());
+    }
+
+    WriteStatus failed(String error) {
+        return new WriteStatus(trackingId, State.FAILED, null, error, acceptedAt, Instant.now());
+    }
+}
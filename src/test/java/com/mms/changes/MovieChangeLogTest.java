@@ -0,0 +1,57 @@
+package com.mms.changes;
+
+import com.mms.event.MovieChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Movie Change Log Tests")
+class MovieChangeLogTest {
+
+    private MovieChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new MovieChangeLog(new ChangeStreamProperties(
+                3, 10, 100, Duration.ofSeconds(15), Duration.ofMinutes(30),
+                ChangeStreamProperties.OverflowPolicy.SKIP));
+    }
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two")
+    void testCapacity() {
+        assertEquals(4, changeLog.capacity());
+    }
+
+    @Test
+    @DisplayName("Should assign consecutive sequences and read from a position")
+    void testReadFrom() {
+        for (long id = 1; id <= 3; id++) {
+            changeLog.append(MovieChangedEvent.deleted(id));
+        }
+
+        List<MovieChange> changes = changeLog.read(2, 10);
+
+        assertEquals(List.of(2L, 3L), changes.stream().map(MovieChange::sequence).toList());
+        assertEquals(List.of(2L, 3L), changes.stream().map(MovieChange::id).toList());
+        assertTrue(changeLog.read(4, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should start at the oldest retained change when the reader was lapped")
+    void testLappedReader() {
+        for (long id = 1; id <= 10; id++) {
+            changeLog.append(MovieChangedEvent.deleted(id));
+        }
+
+        List<MovieChange> changes = changeLog.read(1, 2);
+
+        assertEquals(7L, changeLog.oldestSequence());
+        assertEquals(List.of(7L, 8L), changes.stream().map(MovieChange::sequence).toList());
+    }
+}
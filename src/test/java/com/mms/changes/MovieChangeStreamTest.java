@@ -0,0 +1,250 @@
+package com.mms.changes;
+
+import com.mms.event.MovieChangedEvent;
+import com.mms.exception.TooManySubscribersException;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Streams through Spring MVC into a mock response. A slow client is simulated by holding
+ * the response's writes, once the stream is open, until the test releases them, so the
+ * sender task stays blocked while changes are appended behind it.
+ */
+@DisplayName("Movie Change Stream Tests")
+class MovieChangeStreamTest {
+
+    private static final int CAPACITY = 4;
+
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private volatile boolean holding;
+    private MovieChangeLog changeLog;
+    private MovieChangeStream stream;
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report the dropped changes and disconnect a subscriber that fell past capacity")
+    void testDisconnectPolicy() throws Exception {
+        MockHttpServletResponse response = subscribeSlowly(ChangeStreamProperties.OverflowPolicy.DISCONNECT);
+
+        appendDeletions(2, 11);
+        released.countDown();
+        awaitUntil(() -> stream.subscriberCount() == 0);
+
+        List<String> lines = lines(response);
+        assertEquals(List.of("event:deleted", "event:overflow"), events(lines));
+        assertTrue(data(lines).contains("\"dropped\":6"), data(lines));
+        assertTrue(data(lines).contains("\"resumeFrom\":8"), data(lines));
+        assertEquals(List.of("1"), sequences(lines));
+        assertEquals(6, stream.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Should report the dropped changes and continue from the oldest retained one")
+    void testSkipPolicy() throws Exception {
+        MockHttpServletResponse response = subscribeSlowly(ChangeStreamProperties.OverflowPolicy.SKIP);
+
+        appendDeletions(2, 11);
+        released.countDown();
+        awaitUntil(() -> sequences(lines(response)).contains("11"));
+
+        List<String> lines = lines(response);
+        assertEquals("event:overflow", events(lines).get(1));
+        assertTrue(data(lines).contains("\"resumeFrom\":8"), data(lines));
+        assertEquals(List.of("1", "8", "9", "10", "11"), sequences(lines));
+        assertEquals(1, stream.subscriberCount());
+        assertEquals(6, stream.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Should reject subscribers beyond the limit")
+    void testSubscriberLimit() {
+        stream = new MovieChangeStream(newChangeLog(), properties(1, Duration.ofHours(1),
+                ChangeStreamProperties.OverflowPolicy.DISCONNECT));
+
+        stream.subscribe(null, null);
+
+        assertThrows(TooManySubscribersException.class, () -> stream.subscribe(null, null));
+        assertEquals(1, stream.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should send heartbeats to an idle subscriber")
+    void testHeartbeats() throws Exception {
+        stream = new MovieChangeStream(newChangeLog(), properties(10, Duration.ofMillis(20),
+                ChangeStreamProperties.OverflowPolicy.DISCONNECT));
+        MockHttpServletResponse response = subscribe();
+
+        awaitUntil(() -> lines(response).stream().filter(":heartbeat"::equals).count() >= 3);
+
+        assertTrue(events(lines(response)).isEmpty());
+    }
+
+    // Opens a stream and leaves its sender blocked writing change 1
+    private MockHttpServletResponse subscribeSlowly(ChangeStreamProperties.OverflowPolicy policy) throws Exception {
+        stream = new MovieChangeStream(newChangeLog(), properties(10, Duration.ofHours(1), policy));
+        MockHttpServletResponse response = subscribe();
+        awaitUntil(() -> lines(response).contains(":heartbeat"));
+        holding = true;
+        appendDeletions(1, 1);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        return response;
+    }
+
+    private MockHttpServletResponse subscribe() throws Exception {
+        Filter slowClient = (request, response, chain) ->
+                chain.doFilter(request, new HeldResponse((HttpServletResponse) response));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ChangesController(stream))
+                .addFilters(slowClient)
+                .build();
+        return mockMvc.perform(get("/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private MovieChangeLog newChangeLog() {
+        changeLog = new MovieChangeLog(properties(10, Duration.ofHours(1),
+                ChangeStreamProperties.OverflowPolicy.DISCONNECT));
+        return changeLog;
+    }
+
+    private void appendDeletions(long firstId, long lastId) {
+        for (long id = firstId; id <= lastId; id++) {
+            changeLog.append(MovieChangedEvent.deleted(id));
+        }
+    }
+
+    private static ChangeStreamProperties properties(int maxSubscribers, Duration heartbeat,
+                                                     ChangeStreamProperties.OverflowPolicy policy) {
+        return new ChangeStreamProperties(CAPACITY, maxSubscribers, 100, heartbeat, Duration.ofMinutes(30), policy);
+    }
+
+    private static List<String> lines(MockHttpServletResponse response) {
+        try {
+            return Arrays.asList(response.getContentAsString().split("\n"));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static List<String> events(List<String> lines) {
+        return lines.stream().filter(line -> line.startsWith("event:")).toList();
+    }
+
+    private static List<String> sequences(List<String> lines) {
+        return lines.stream().filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring(line.lastIndexOf('-') + 1)).toList();
+    }
+
+    private static String data(List<String> lines) {
+        return String.join("\n", lines.stream().filter(line -> line.startsWith("data:")).toList());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the stream");
+            Thread.sleep(10);
+        }
+    }
+
+    @RestController
+    static class ChangesController {
+
+        private final MovieChangeStream stream;
+
+        ChangesController(MovieChangeStream stream) {
+            this.stream = stream;
+        }
+
+        @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter changes() {
+            return stream.subscribe(null, null);
+        }
+    }
+
+    // A client that stops reading: once holding, every write waits until the test releases it
+    private final class HeldResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream held;
+
+        HeldResponse(HttpServletResponse response) throws IOException {
+            super(response);
+            ServletOutputStream delegate = response.getOutputStream();
+            this.held = new ServletOutputStream() {
+
+                @Override
+                public void write(int b) throws IOException {
+                    hold();
+                    delegate.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    hold();
+                    delegate.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return delegate.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    delegate.setWriteListener(listener);
+                }
+            };
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return held;
+        }
+
+        private void hold() throws IOException {
+            if (!holding) {
+                return;
+            }
+            writing.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+}
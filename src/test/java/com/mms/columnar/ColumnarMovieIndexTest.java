@@ -0,0 +1,189 @@
+package com.mms.columnar;
+
+import com.mms.dto.MovieField;
+import com.mms.dto.MovieSearchCriteria;
+import com.mms.dto.MovieView;
+import com.mms.entity.Movie;
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.service.MovieService;
+import org.hibernate.dialect.NullOrdering;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Columnar Movie Index Tests")
+class ColumnarMovieIndexTest {
+
+    private final MovieService movieService = mock(MovieService.class);
+    private ColumnarMovieIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<MovieService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(movieService);
+        index = new ColumnarMovieIndex(provider, new ColumnarProperties(true, 2), NullOrdering.SMALLEST);
+        index.rebuild();
+        add(1L, "The Matrix", "Sci-Fi", "Wachowski Brothers", 1999, 8.7);
+        add(2L, "Inception", "Sci-Fi", "Christopher Nolan", 2010, 8.8);
+        add(3L, "Memento", "Thriller", "Christopher Nolan", 2000, null);
+        add(4L, "Tenet", "Sci-Fi", "Christopher Nolan", 2020, 7.3);
+        add(5L, "Dune", "Sci-Fi", "Denis Villeneuve", 2021, null);
+    }
+
+    private void add(Long id, String title, String genre, String director, int year, Double rating) {
+        index.onMovieChanged(MovieChangedEvent.created(new MovieSnapshot(id, title, genre, director, year, rating)));
+    }
+
+    private static MovieSearchCriteria criteria(List<String> genre, List<String> director, Integer yearFrom,
+                                                Double minRating) {
+        return new MovieSearchCriteria(genre, director, null, yearFrom, null, minRating, null);
+    }
+
+    @Test
+    @DisplayName("Should combine dictionary bitmaps with range filters")
+    void testFilters() {
+        assertEquals(List.of(2L, 4L),
+                index.findAllIds(criteria(List.of("Sci-Fi"), List.of("Christopher Nolan"), null, null)));
+        assertEquals(List.of(2L, 4L, 5L), index.findAllIds(criteria(List.of("Sci-Fi"), null, 2005, null)));
+        assertEquals(List.of(1L, 2L), index.findAllIds(MovieSearchCriteria.byMinRating(8.0)));
+        assertEquals(List.of(), index.findAllIds(MovieSearchCriteria.byGenre("Western")));
+    }
+
+    @Test
+    @DisplayName("Should page in rating order with unrated movies last and count on request")
+    void testOrderedPages() {
+        Sort byRating = Sort.by(Sort.Order.desc("rating"));
+        Slice<Long> first = index.findIds(criteria(null, null, null, null), PageRequest.of(0, 2, byRating), false);
+        Page<Long> second = (Page<Long>) index.findIds(criteria(null, null, null, null),
+                PageRequest.of(1, 2, byRating), true);
+
+        assertEquals(List.of(2L, 1L), first.getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(4L, 5L), second.getContent());
+        assertEquals(5, second.getTotalElements());
+        assertNull(index.findIds(criteria(null, null, null, null),
+                PageRequest.of(0, 2, Sort.by("title")), false));
+    }
+
+    @Test
+    @DisplayName("Should place unrated movies where the database puts nulls")
+    @SuppressWarnings("unchecked")
+    void testNativeNullOrdering() {
+        ObjectProvider<MovieService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(movieService);
+        // PostgreSQL sorts nulls high: last ascending, first descending
+        index = new ColumnarMovieIndex(provider, new ColumnarProperties(true, 2), NullOrdering.GREATEST);
+        index.rebuild();
+        add(1L, "The Matrix", "Sci-Fi", "Wachowski Brothers", 1999, 8.7);
+        add(3L, "Memento", "Thriller", "Christopher Nolan", 2000, null);
+        add(4L, "Tenet", "Sci-Fi", "Christopher Nolan", 2020, 7.3);
+
+        MovieSearchCriteria all = criteria(null, null, null, null);
+        assertEquals(List.of(4L, 1L, 3L),
+                index.findIds(all, PageRequest.of(0, 10, Sort.by(Sort.Order.asc("rating"))), false).getContent());
+        assertEquals(List.of(3L, 1L, 4L),
+                index.findIds(all, PageRequest.of(0, 10, Sort.by(Sort.Order.desc("rating"))), false).getContent());
+        assertEquals(List.of(1L, 4L, 3L), index.findIds(all,
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("rating").nullsLast())), false).getContent());
+    }
+
+    @Test
+    @DisplayName("Should apply updates and deletes and reuse freed rows")
+    void testMutations() {
+        index.onMovieChanged(MovieChangedEvent.updated(new MovieSnapshot(2L, "Inception", "Thriller", "Christopher Nolan", 2010, 8.8)));
+        index.onMovieChanged(MovieChangedEvent.deleted(1L));
+        add(6L, "Oppenheimer", "Drama", "Christopher Nolan", 2023, 8.4);
+
+        assertEquals(List.of(2L, 3L), index.findAllIds(MovieSearchCriteria.byGenre("Thriller")));
+        assertEquals(List.of(4L, 5L), index.findAllIds(MovieSearchCriteria.byGenre("Sci-Fi")));
+        assertEquals(5, index.size());
+
+        Slice<MovieView> views = index.findViews(MovieSearchCriteria.byDirector("Christopher Nolan"),
+                Set.of(MovieField.TITLE, MovieField.RATING), PageRequest.of(0, 10, Sort.by("releaseYear")), false);
+        assertEquals(List.of("Memento", "Inception", "Tenet", "Oppenheimer"),
+                views.stream().map(MovieView::title).toList());
+        assertEquals(8.8, views.getContent().get(1).rating());
+        assertNull(index.findViews(MovieSearchCriteria.byGenre("Drama"), Set.of(MovieField.VERSION),
+                PageRequest.of(0, 10), false));
+    }
+
+    @Test
+    @DisplayName("Should keep every order sorted as movies are added, moved and removed")
+    void testOrdersFollowChanges() {
+        Random random = new Random(42);
+        Map<Long, MovieSnapshot> movies = new HashMap<>();
+        for (int step = 0; step < 2000; step++) {
+            long id = 100 + random.nextInt(50);
+            if (movies.containsKey(id) && random.nextInt(4) == 0) {
+                index.onMovieChanged(MovieChangedEvent.deleted(id));
+                movies.remove(id);
+                continue;
+            }
+            Double rating = random.nextInt(5) == 0 ? null : 5.0 + random.nextInt(9) / 2.0;
+            MovieSnapshot movie = new MovieSnapshot(id, "Movie " + id, "Shuffled", "Director",
+                    1990 + random.nextInt(10), rating);
+            index.onMovieChanged(movies.containsKey(id) ? MovieChangedEvent.updated(movie)
+                    : MovieChangedEvent.created(movie));
+            movies.put(id, movie);
+
+            if (step % 100 == 99) {
+                Comparator<MovieSnapshot> byId = Comparator.comparing(MovieSnapshot::id);
+                assertOrder(movies, "id", byId);
+                assertOrder(movies, "releaseYear", Comparator.comparing(MovieSnapshot::releaseYear).thenComparing(byId));
+                // Ascending, unrated movies come first
+                assertOrder(movies, "rating", Comparator.comparing(MovieSnapshot::rating,
+                        Comparator.nullsFirst(Comparator.<Double>naturalOrder())).thenComparing(byId));
+            }
+        }
+    }
+
+    private void assertOrder(Map<Long, MovieSnapshot> movies, String property, Comparator<MovieSnapshot> order) {
+        List<Long> expected = movies.values().stream().sorted(order).map(MovieSnapshot::id).toList();
+        Slice<Long> actual = index.findIds(MovieSearchCriteria.byGenre("Shuffled"),
+                PageRequest.of(0, 100, Sort.by(property)), false);
+        assertEquals(expected, actual.getContent(), property);
+    }
+
+    @Test
+    @DisplayName("Should report movies that differ from the repository")
+    void testVerify() {
+        doAnswer(invocation -> {
+            Consumer<Movie> consumer = invocation.getArgument(0);
+            for (long id = 1; id <= 5; id++) {
+                Movie movie = new Movie("Movie " + id, "Sci-Fi", "Director", 2000, null);
+                movie.setId(id == 5 ? 7L : id);
+                consumer.accept(movie);
+            }
+            return null;
+        }).when(movieService).streamAllMovies(any());
+
+        ColumnarCheck check = index.verify();
+
+        assertEquals(5, check.checked());
+        assertEquals(1, check.missing());
+        assertEquals(1, check.extra());
+        assertEquals(4, check.mismatched());
+        assertFalse(check.consistent());
+    }
+}
@@ -0,0 +1,49 @@
+package com.mms.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Database Bulkhead Filter Tests")
+class DatabaseBulkheadFilterTest {
+
+    private final DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(1, Duration.ZERO,
+            Set.of("/api/movies/changes"));
+
+    @Test
+    @DisplayName("Should hold the permit of an async request until it completes")
+    void testAsyncRequestHoldsPermit() throws Exception {
+        MockHttpServletRequest streaming = new MockHttpServletRequest("GET", "/api/movies/export");
+        streaming.setAsyncSupported(true);
+        filter.doFilter(streaming, new MockHttpServletResponse(),
+                (request, response) -> request.startAsync());
+        assertEquals(0, filter.availablePermits());
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/movies/1"), rejected, new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+
+        streaming.getAsyncContext().complete();
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when a request finishes and skip excluded paths")
+    void testSyncAndExcludedRequests() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/movies/1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        assertEquals(1, filter.availablePermits());
+
+        MockHttpServletRequest changes = new MockHttpServletRequest("GET", "/api/movies/changes");
+        changes.setAsyncSupported(true);
+        filter.doFilter(changes, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        assertEquals(1, filter.availablePermits());
+    }
+}
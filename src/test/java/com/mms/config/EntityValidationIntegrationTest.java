@@ -0,0 +1,62 @@
+package com.mms.config;
+
+import com.mms.entity.Movie;
+import com.mms.service.MovieService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that Hibernate validates every write unless the session was marked as prevalidated.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:validation-${random.uuid};DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Entity Validation Integration Tests")
+class EntityValidationIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should reject an invalid movie that bypassed request validation")
+    void testValidatesByDefault() {
+        Movie invalid = new Movie("Unchecked", "Validation", "Director", 2001, 11.0);
+
+        Exception exception = assertThrows(Exception.class, () -> movieService.createMovie(invalid));
+        assertInstanceOf(ConstraintViolationException.class, rootCause(exception));
+    }
+
+    @Test
+    @DisplayName("Should skip validation only in a session marked as prevalidated")
+    void testSkipsPrevalidatedSession() {
+        Movie movie = transactionTemplate.execute(tx -> {
+            EntityValidationConfig.skipEntityValidation(entityManager);
+            return movieService.createMovie(new Movie("Skipped", "Validation", "Director", 2002, 11.0));
+        });
+
+        assertEquals(11.0, movieService.getMovieById(movie.getId()).getRating());
+        assertThrows(Exception.class,
+                () -> movieService.createMovie(new Movie("Checked", "Validation", "Director", 2003, 11.0)));
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        while (ex.getCause() != null && ex.getCause() != ex) {
+            ex = ex.getCause();
+        }
+        return ex;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mms.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the {@code prod} profile against a file-backed H2 database instead of PostgreSQL and
+ * checks that its pool and Hibernate settings reach the running components.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/prod-profile-it/${random.uuid}",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@ActiveProfiles("prod")
+@DisplayName("Production Profile Integration Tests")
+class ProductionProfileIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should configure a fixed-size Hikari pool without auto-commit")
+    void testConnectionPool() {
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class,
+                HikariDataSource.class);
+
+        assertNotNull(hikari);
+        assertTrue(hikari.getJdbcUrl().startsWith("jdbc:h2:file:"));
+        assertEquals("primary", hikari.getPoolName());
+        assertEquals(20, hikari.getMaximumPoolSize());
+        assertEquals(20, hikari.getMinimumIdle());
+        assertFalse(hikari.isAutoCommit());
+    }
+
+    @Test
+    @DisplayName("Should batch and order writes and keep SQL off stdout")
+    void testHibernateSettings() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SessionFactoryOptions options = sessionFactory.getSessionFactoryOptions();
+        SqlStatementLogger sqlLogger = sessionFactory.getJdbcServices().getSqlStatementLogger();
+
+        assertEquals(100, options.getJdbcBatchSize());
+        assertEquals(200, options.getJdbcFetchSize());
+        assertTrue(options.isOrderInsertsEnabled());
+        assertTrue(options.isOrderUpdatesEnabled());
+        assertTrue(options.doesConnectionProviderDisableAutoCommit());
+        assertTrue(options.inClauseParameterPaddingEnabled());
+        assertFalse(sqlLogger.isLogToStdout());
+        assertFalse(sqlLogger.isFormat());
+    }
+
+    @Test
+    @DisplayName("Should reuse query plans from the plan cache")
+    void testQueryPlanCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        long hits = statistics.getQueryPlanCacheHitCount();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            for (int i = 0; i < 2; i++) {
+                entityManager.createQuery("select count(m) from Movie m where m.rating >= :rating", Long.class)
+                        .setParameter("rating", 5.0)
+                        .getSingleResult();
+            }
+        } finally {
+            entityManager.close();
+        }
+
+        assertTrue(statistics.getQueryPlanCacheHitCount() > hits);
+    }
+}
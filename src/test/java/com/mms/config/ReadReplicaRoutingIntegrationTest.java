@@ -0,0 +1,91 @@
+package com.mms.config;
+
+import com.mms.entity.Movie;
+import com.mms.service.MovieService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application against two separate H2 databases standing in for a primary and its
+ * replica. Nothing replicates between them, which makes the routing observable.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "mms.datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;"
+                + "INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'",
+        "mms.datasource.replica.username=sa",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Test
+    @DisplayName("Should write to the primary and serve read-only finders from the replica")
+    void testWritesToPrimaryReadsFromReplica() {
+        Movie created = movieService.createMovie(new Movie("Primary Only", "Routing", "Director", 2001, 7.0));
+
+        assertEquals(1, count(primary, "Routing"));
+        assertEquals(0, count(replica, "Routing"));
+        assertTrue(movieService.getMoviesByGenre("Routing").isEmpty());
+
+        new JdbcTemplate(replica).update("insert into movies (id, title, genre, director, release_year, rating, version) "
+                + "values (?, 'Replicated', 'Routing', 'Director', 2001, 7.0, 0)", created.getId());
+
+        List<Movie> movies = movieService.getMoviesByGenre("Routing");
+        assertEquals(1, movies.size());
+        assertEquals("Replicated", movies.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should keep reads inside a read-write transaction on the primary")
+    void testReadInsideWriteTransactionUsesPrimary() {
+        movieService.createMovie(new Movie("Read Your Writes", "Consistent", "Director", 2002, null));
+
+        List<Movie> movies = new TransactionTemplate(transactionManager)
+                .execute(status -> movieService.getMoviesByGenre("Consistent"));
+
+        assertEquals(1, movies.size());
+        assertEquals(0, count(replica, "Consistent"));
+    }
+
+    @Test
+    @DisplayName("Should load cached movies and their versions from the primary")
+    void testCachePopulatingReadsUsePrimary() {
+        Movie created = movieService.createMovie(new Movie("Not Replicated Yet", "Lagging", "Director", 2003, 6.0));
+
+        assertEquals(0, count(replica, "Lagging"));
+        assertEquals(created.getVersion(), movieService.getMovieVersion(created.getId()).version());
+        assertEquals("Not Replicated Yet", movieService.getMovieById(created.getId()).getTitle());
+    }
+
+    private static int count(DataSource dataSource, String genre) {
+        Integer count = new JdbcTemplate(dataSource)
+                .queryForObject("select count(*) from movies where genre = ?", Integer.class, genre);
+        return count == null ? 0 : count;
+    }
+}
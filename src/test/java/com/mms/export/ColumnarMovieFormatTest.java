@@ -0,0 +1,48 @@
+package com.mms.export;
+
+import com.mms.entity.Movie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Columnar Movie Format Tests")
+class ColumnarMovieFormatTest {
+
+    @Test
+    @DisplayName("Should round-trip movies across row groups, including unrated ones")
+    void testRoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ColumnarMovieWriter writer = new ColumnarMovieWriter(out, 2)) {
+            writer.write(1, "The Matrix", "Sci-Fi", "Wachowski Brothers", 1999, 8.7);
+            writer.write(2, "Inception", "Sci-Fi", "Christopher Nolan", 2010, null);
+            writer.write(40, "Amélie", "Comedy", "Jean-Pierre Jeunet", 2001, 8.3);
+        }
+
+        List<Movie> movies = new ArrayList<>();
+        long rows = ColumnarMovieReader.read(new ByteArrayInputStream(out.toByteArray()), movies::add);
+
+        assertEquals(3, rows);
+        assertEquals(List.of(1L, 2L, 40L), movies.stream().map(Movie::getId).toList());
+        assertEquals("Amélie", movies.get(2).getTitle());
+        assertEquals("Christopher Nolan", movies.get(1).getDirector());
+        assertEquals(2001, movies.get(2).getReleaseYear());
+        assertNull(movies.get(1).getRating());
+        assertEquals(8.3, movies.get(2).getRating());
+    }
+
+    @Test
+    @DisplayName("Should reject streams in another format")
+    void testBadMagic() {
+        byte[] json = "[{\"id\":1}]".getBytes();
+
+        assertThrows(IOException.class, () -> ColumnarMovieReader.read(new ByteArrayInputStream(json), movie -> {
+        }));
+    }
+}
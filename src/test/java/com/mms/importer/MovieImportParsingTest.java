@@ -0,0 +1,79 @@
+package com.mms.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.entity.ImportJob;
+import com.mms.entity.Movie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Movie Import Parsing Tests")
+class MovieImportParsingTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should map CSV columns by header name, including quoted commas and quotes")
+    void testCsvQuoting() {
+        MovieLineParser parser = MovieLineParser.forFormat(ImportJob.Format.CSV,
+                "Rating,release_year,director,genre,title", new ObjectMapper());
+
+        Movie movie = parser.parse("8.5,1994,\"Darabont, Frank\",Drama,\"The \"\"Shawshank\"\" Redemption\"");
+
+        assertEquals("The \"Shawshank\" Redemption", movie.getTitle());
+        assertEquals("Darabont, Frank", movie.getDirector());
+        assertEquals(1994, movie.getReleaseYear());
+        assertEquals(8.5, movie.getRating());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header missing a required column and rows with bad numbers")
+    void testCsvErrors() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertThrows(IllegalArgumentException.class,
+                () -> MovieLineParser.forFormat(ImportJob.Format.CSV, "title,genre,director", objectMapper));
+
+        MovieLineParser parser = MovieLineParser.forFormat(ImportJob.Format.CSV,
+                "title,genre,director,releaseYear", objectMapper);
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("Heat,Crime,Michael Mann,soon"));
+    }
+
+    @Test
+    @DisplayName("Should read lines across mapping windows and resume from a checkpoint")
+    void testMappedLinesAcrossWindows() throws IOException {
+        Path file = dir.resolve("movies.csv");
+        Files.writeString(file, "\uFEFFfirst line\r\nsecond\nthird line here\n", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<>();
+        long secondEnd;
+        try (MappedLineReader reader = new MappedLineReader(file, 16)) {
+            MappedLineReader.Line line;
+            while ((line = reader.next()) != null) {
+                lines.add(line.number() + ":" + line.text());
+            }
+        }
+        assertEquals(List.of("1:first line", "2:second", "3:third line here"), lines);
+
+        try (MappedLineReader reader = new MappedLineReader(file, 16)) {
+            reader.next();
+            secondEnd = reader.next().endOffset();
+        }
+        try (MappedLineReader reader = new MappedLineReader(file, 16)) {
+            reader.seek(secondEnd, 2);
+            MappedLineReader.Line line = reader.next();
+            assertEquals(3, line.number());
+            assertEquals("third line here", line.text());
+            assertNull(reader.next());
+        }
+    }
+}
\ No newline at end of file
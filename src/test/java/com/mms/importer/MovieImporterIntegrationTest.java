@@ -0,0 +1,63 @@
+package com.mms.importer;
+
+import com.mms.entity.ImportJob;
+import com.mms.exception.ImportStateException;
+import com.mms.repository.ImportJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks import job transitions against a real database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:imports-${random.uuid};DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Movie Importer Integration Tests")
+class MovieImporterIntegrationTest {
+
+    private static final EnumSet<ImportJob.Status> RESUMABLE = EnumSet.of(ImportJob.Status.FAILED,
+            ImportJob.Status.INTERRUPTED);
+
+    @Autowired
+    private MovieImporter movieImporter;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    private ImportJob job(ImportJob.Status status) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), ImportJob.Format.CSV, "missing.csv", 0);
+        job.setStatus(status);
+        job.setMessage("Stopped");
+        return importJobRepository.save(job);
+    }
+
+    @Test
+    @DisplayName("Should requeue a resumable job only once")
+    void testRequeueOnlyOnce() {
+        ImportJob job = job(ImportJob.Status.FAILED);
+
+        assertEquals(1, importJobRepository.requeue(job.getId(), RESUMABLE));
+        assertEquals(0, importJobRepository.requeue(job.getId(), RESUMABLE));
+
+        ImportJob requeued = importJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportJob.Status.QUEUED, requeued.getStatus());
+        assertNull(requeued.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should refuse to resume a job that is not failed or interrupted")
+    void testResumeCompletedJob() {
+        ImportJob job = job(ImportJob.Status.COMPLETED);
+
+        assertThrows(ImportStateException.class, () -> movieImporter.resume(job.getId()));
+        assertEquals(ImportJob.Status.COMPLETED, importJobRepository.findById(job.getId()).orElseThrow().getStatus());
+    }
+}
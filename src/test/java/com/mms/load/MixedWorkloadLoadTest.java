@@ -0,0 +1,362 @@
+package com.mms.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.MovieManagementSystemApplication;
+import com.mms.entity.Movie;
+import com.mms.load.OpenLoopLoadGenerator.OperationStats;
+import com.mms.service.MovieBulkService;
+import com.mms.service.MovieService;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the application on a random port against a private in-memory H2 database seeded with
+ * a deterministic catalog, then drives a weighted mix of reads and writes over HTTP at a fixed
+ * rate (see {@link OpenLoopLoadGenerator}). Rate and concurrency limits are switched off so
+ * the server itself is measured. Reports throughput and p50/p99/p999 per operation, and
+ * writes {@code target/load/mixed/<run>/}: {@code summary.json} plus one HdrHistogram
+ * percentile distribution ({@code <operation>.hgrm}, milliseconds) per operation.
+ *
+ * <p>Run with {@code mvn test -Pload-test -Dtest=MixedWorkloadLoadTest}; tune it with the
+ * {@code mms.load.*} system properties read by {@link Settings}.
+ */
+@Tag("load")
+@DisplayName("Mixed Workload Load Test")
+class MixedWorkloadLoadTest {
+
+    private static final int GENRES = 20;
+    private static final int DIRECTORS = 500;
+    private static final int PAGE_SIZE = 20;
+
+    enum Operation {
+        GET_BY_ID("get-by-id", 40),
+        LIST("list", 10),
+        BY_GENRE("by-genre", 10),
+        BY_DIRECTOR("by-director", 8),
+        BY_YEAR("by-year", 8),
+        BY_RATING("by-rating", 6),
+        SEARCH("search", 5),
+        CREATE("create", 5),
+        UPDATE("update", 5),
+        DELETE("delete", 3);
+
+        final String key;
+        final int defaultWeight;
+
+        Operation(String key, int defaultWeight) {
+            this.key = key;
+            this.defaultWeight = defaultWeight;
+        }
+
+        static Operation of(String key) {
+            return Arrays.stream(values())
+                    .filter(operation -> operation.key.equals(key))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key));
+        }
+    }
+
+    /**
+     * Run settings, from system properties:
+     * <ul>
+     *   <li>{@code mms.load.movies} - seeded catalog size (10000)</li>
+     *   <li>{@code mms.load.rate} - requests per second over all operations (200)</li>
+     *   <li>{@code mms.load.warmup} / {@code mms.load.duration} - seconds, only the duration is recorded (10 / 30)</li>
+     *   <li>{@code mms.load.max-in-flight} - requests beyond it are dropped and counted (256)</li>
+     *   <li>{@code mms.load.mix} - weights, e.g. {@code get-by-id=80,create=20}; unlisted operations are not sent</li>
+     *   <li>{@code mms.load.seed} - seed of the request sequence (42)</li>
+     *   <li>{@code mms.load.run} - output directory name (timestamp)</li>
+     *   <li>{@code mms.load.baseline} - an earlier run to compare against</li>
+     *   <li>{@code mms.load.app-properties} - extra application properties, comma separated</li>
+     * </ul>
+     */
+    record Settings(int movies, double rate, Duration warmup, Duration duration, int maxInFlight,
+                    Map<Operation, Integer> mix, long seed, String run, String baseline, List<String> appProperties) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("mms.load.movies", 10_000),
+                    Double.parseDouble(System.getProperty("mms.load.rate", "200")),
+                    Duration.ofSeconds(Long.getLong("mms.load.warmup", 10)),
+                    Duration.ofSeconds(Long.getLong("mms.load.duration", 30)),
+                    Integer.getInteger("mms.load.max-in-flight", 256),
+                    parseMix(System.getProperty("mms.load.mix", "")),
+                    Long.getLong("mms.load.seed", 42),
+                    System.getProperty("mms.load.run",
+                            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))),
+                    System.getProperty("mms.load.baseline", ""),
+                    Arrays.stream(System.getProperty("mms.load.app-properties", "").split(","))
+                            .map(String::trim)
+                            .filter(property -> !property.isEmpty())
+                            .toList());
+        }
+
+        private static Map<Operation, Integer> parseMix(String value) {
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            if (value.isBlank()) {
+                for (Operation operation : Operation.values()) {
+                    mix.put(operation, operation.defaultWeight);
+                }
+                return mix;
+            }
+            for (String entry : value.split(",")) {
+                String[] parts = entry.split("=", 2);
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected operation=weight: " + entry);
+                }
+                mix.put(Operation.of(parts[0].trim()), Integer.valueOf(parts[1].trim()));
+            }
+            return mix;
+        }
+
+        long expectedRequests(Operation operation) {
+            int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+            double seconds = warmup.plus(duration).toMillis() / 1000.0;
+            return (long) Math.ceil(rate * seconds * mix.getOrDefault(operation, 0) / total);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report throughput and p50/p99/p999 per operation for a mixed workload")
+    void mixedWorkload() throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        try (ConfigurableApplicationContext context = start(settings)) {
+            long[] ids = seed(context, settings.movies());
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            Requests requests = new Requests(baseUrl, ids, settings);
+            Map<Operation, OperationStats> stats = new OpenLoopLoadGenerator<>(client, Operation.class,
+                    settings.mix(), requests::build, settings.maxInFlight())
+                    .run(settings.rate(), settings.warmup(), settings.duration(), settings.seed());
+
+            Path output = Path.of("target", "load", "mixed", settings.run());
+            report(settings, stats, output);
+
+            assertTrue(stats.values().stream().anyMatch(s -> s.latencies.getTotalCount() > 0));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Settings settings) {
+        return new SpringApplicationBuilder(MovieManagementSystemApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-mixed-" + System.nanoTime(),
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "mms.index-check.enabled=false",
+                        "mms.rate-limit.enabled=false",
+                        "mms.concurrency-limit.enabled=false",
+                        "logging.level.root=WARN")
+                .properties(settings.appProperties().toArray(String[]::new))
+                .run();
+    }
+
+    // Same catalog shape as the JMH benchmarks: 20 genres, 500 directors, 1950-2019, 0.0-9.9
+    private static Movie movie(int i) {
+        return new Movie("Movie " + i, "Genre " + (i % GENRES), "Director " + (i % DIRECTORS),
+                1950 + i % 70, (i % 100) / 10.0);
+    }
+
+    private static long[] seed(ConfigurableApplicationContext context, int size) {
+        context.getBean(MovieBulkService.class).createMovies(new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Movie next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return movie(next++);
+            }
+        });
+        List<Long> ids = new ArrayList<>(size);
+        context.getBean(MovieService.class).streamAllMovies(movie -> ids.add(movie.getId()));
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Builds the request for each operation. Deletes take seeded ids from the end of the
+     * catalog, one each, from a tail reserved for them, so reads and updates only address
+     * movies that exist for the whole run.
+     */
+    private static final class Requests {
+
+        private final String baseUrl;
+        private final long[] ids;
+        private final int readable;
+        private final AtomicInteger deleted = new AtomicInteger();
+
+        Requests(String baseUrl, long[] ids, Settings settings) {
+            this.baseUrl = baseUrl;
+            this.ids = ids;
+            int reserved = (int) Math.min(ids.length / 2, settings.expectedRequests(Operation.DELETE) * 2);
+            this.readable = ids.length - reserved;
+        }
+
+        HttpRequest build(Operation operation, Random random) {
+            return switch (operation) {
+                case GET_BY_ID -> get("/api/movies/" + readableId(random));
+                case LIST -> get("/api/movies?size=" + PAGE_SIZE);
+                case BY_GENRE -> get("/api/movies/genre/Genre%20" + random.nextInt(GENRES) + page(random));
+                case BY_DIRECTOR -> get("/api/movies/director/Director%20" + random.nextInt(DIRECTORS) + page(random));
+                case BY_YEAR -> get("/api/movies/year/" + (1950 + random.nextInt(70)) + page(random));
+                case BY_RATING -> get("/api/movies/rating/" + random.nextInt(100) / 10.0 + page(random));
+                case SEARCH -> {
+                    int yearFrom = 1950 + random.nextInt(60);
+                    yield get(String.format(Locale.ROOT,
+                            "/api/movies/search?genre=Genre%%20%d&yearFrom=%d&yearTo=%d&minRating=%.1f&size=%d",
+                            random.nextInt(GENRES), yearFrom, yearFrom + 10, random.nextInt(90) / 10.0, PAGE_SIZE));
+                }
+                case CREATE -> send("POST", "/api/movies", json(movie(random.nextInt(1_000_000))));
+                case UPDATE -> {
+                    Movie movie = movie(random.nextInt(1_000_000));
+                    movie.setRating(random.nextInt(100) / 10.0);
+                    yield send("PUT", "/api/movies/" + readableId(random), json(movie));
+                }
+                case DELETE -> {
+                    int index = ids.length - 1 - deleted.getAndIncrement();
+                    // Once the reserved tail is used up the request targets a missing movie (404)
+                    yield send("DELETE", "/api/movies/" + (index >= readable ? ids[index] : -1), null);
+                }
+            };
+        }
+
+        private long readableId(Random random) {
+            return ids[random.nextInt(readable)];
+        }
+
+        private static String page(Random random) {
+            return "?size=" + PAGE_SIZE + "&page=" + random.nextInt(5);
+        }
+
+        private static String json(Movie movie) {
+            return String.format(Locale.ROOT,
+                    "{\"title\":\"%s\",\"genre\":\"%s\",\"director\":\"%s\",\"releaseYear\":%d,\"rating\":%.1f}",
+                    movie.getTitle(), movie.getGenre(), movie.getDirector(), movie.getReleaseYear(), movie.getRating());
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        }
+
+        private HttpRequest send(String method, String path, String body) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, body == null
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    private static void report(Settings settings, Map<Operation, OperationStats> stats, Path output)
+            throws IOException {
+        Files.createDirectories(output);
+        double seconds = settings.duration().toMillis() / 1000.0;
+        JsonNode baseline = readBaseline(settings.baseline());
+
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%n%-12s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "dropped", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        List<String> operations = new ArrayList<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            String key = entry.getKey().key;
+            OperationStats operation = entry.getValue();
+            Histogram latencies = operation.latencies;
+            double throughput = latencies.getTotalCount() / seconds;
+            table.append(String.format(Locale.ROOT, "%-12s %8d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    key, latencies.getTotalCount(), operation.errors.get(), operation.dropped.get(), throughput,
+                    millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0));
+            if (baseline != null && baseline.path("operations").has(key)) {
+                JsonNode before = baseline.path("operations").path(key);
+                table.append(String.format(Locale.ROOT, "%-39s %+8.1f%% %+8.1f%% %+8.1f%% %+8.1f%%%n",
+                        "  vs " + settings.baseline(),
+                        change(before.path("throughputPerSecond").asDouble(), throughput),
+                        change(before.path("p50Ms").asDouble(), millis(latencies, 50)),
+                        change(before.path("p99Ms").asDouble(), millis(latencies, 99)),
+                        change(before.path("p999Ms").asDouble(), millis(latencies, 99.9))));
+            }
+            operations.add(String.format(Locale.ROOT,
+                    "\"%s\":{\"count\":%d,\"errors\":%d,\"dropped\":%d,\"throughputPerSecond\":%.1f,"
+                            + "\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f,\"maxMs\":%.3f}",
+                    key, latencies.getTotalCount(), operation.errors.get(), operation.dropped.get(), throughput,
+                    millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0));
+
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(output.resolve(key + ".hgrm")))) {
+                latencies.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+
+        String summary = String.format(Locale.ROOT,
+                "{\"run\":\"%s\",\"movies\":%d,\"rate\":%.1f,\"warmupSeconds\":%d,\"durationSeconds\":%d,"
+                        + "\"maxInFlight\":%d,\"seed\":%d,\"mix\":\"%s\",\"operations\":{%s}}%n",
+                settings.run(), settings.movies(), settings.rate(), settings.warmup().toSeconds(),
+                settings.duration().toSeconds(), settings.maxInFlight(), settings.seed(),
+                settings.mix().entrySet().stream()
+                        .map(entry -> entry.getKey().key + "=" + entry.getValue())
+                        .collect(Collectors.joining(",")),
+                String.join(",", operations));
+        Files.writeString(output.resolve("summary.json"), summary);
+        System.out.print(table);
+        System.out.println("Histograms and summary written to " + output.toAbsolutePath());
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static JsonNode readBaseline(String run) throws IOException {
+        if (run.isEmpty()) {
+            return null;
+        }
+        Path summary = Path.of("target", "load", "mixed", run, "summary.json");
+        if (!Files.exists(summary)) {
+            throw new IllegalArgumentException("No summary for baseline run " + run + " at " + summary);
+        }
+        return new ObjectMapper().readTree(summary.toFile());
+    }
+}
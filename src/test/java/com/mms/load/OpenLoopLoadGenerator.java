@@ -0,0 +1,130 @@
+package com.mms.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+/**
+ * Sends requests at a fixed rate, whatever the server's response times (an open loop), and
+ * records per operation the latency from the moment each request was due. Measuring from the
+ * schedule instead of the actual send keeps a stalled server from hiding its own queueing
+ * delay (coordinated omission). A request that would exceed {@code maxInFlight} is dropped
+ * and counted instead of being sent late.
+ *
+ * @param <O> the operations being mixed
+ */
+final class OpenLoopLoadGenerator<O extends Enum<O>> {
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client;
+    private final Class<O> operations;
+    private final Map<O, Integer> mix;
+    private final int totalWeight;
+    private final BiFunction<O, Random, HttpRequest> requests;
+    private final int maxInFlight;
+
+    /**
+     * @param requests builds the request for an operation; called on the sending thread with
+     *                 the generator's seeded random, so a seed always yields the same requests
+     */
+    OpenLoopLoadGenerator(HttpClient client, Class<O> operations, Map<O, Integer> mix,
+                          BiFunction<O, Random, HttpRequest> requests, int maxInFlight) {
+        this.client = client;
+        this.operations = operations;
+        this.mix = new EnumMap<>(mix);
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.requests = requests;
+        this.maxInFlight = maxInFlight;
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The operation mix needs a positive weight");
+        }
+    }
+
+    /**
+     * Drives {@code rate} requests per second for {@code warmup} plus {@code duration} and
+     * returns what was recorded after the warmup, once every request has completed.
+     */
+    Map<O, OperationStats> run(double rate, Duration warmup, Duration duration, long seed) {
+        Map<O, OperationStats> stats = new EnumMap<>(operations);
+        for (O operation : mix.keySet()) {
+            stats.put(operation, new OperationStats());
+        }
+        Random random = new Random(seed);
+        AtomicInteger inFlight = new AtomicInteger();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long started = System.nanoTime();
+        long measureFrom = started + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long n = 0; ; n++) {
+            long due = started + n * interval;
+            if (due >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            O operation = pick(random);
+            OperationStats target = due >= measureFrom ? stats.get(operation) : null;
+            if (inFlight.get() >= maxInFlight) {
+                if (target != null) {
+                    target.dropped.incrementAndGet();
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(requests.apply(operation, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long latency = System.nanoTime() - due;
+                        if (target != null) {
+                            target.record(latency, failure != null || response.statusCode() >= 400);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return stats;
+    }
+
+    private O pick(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Map.Entry<O, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: ticket beyond the total weight");
+    }
+
+    /** Latencies in microseconds plus error and drop counts of one operation. */
+    static final class OperationStats {
+
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+
+        private void record(long latencyNanos, boolean error) {
+            latencies.recordValue(Math.min(HIGHEST_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            if (error) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
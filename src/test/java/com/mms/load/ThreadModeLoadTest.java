@@ -0,0 +1,157 @@
+package com.mms.load;
+
+import com.mms.MovieManagementSystemApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and tail latency of platform-thread and virtual-thread request
+ * execution under the same client concurrency. Both runs cap Tomcat at the same small
+ * worker pool so the platform-thread run is bound by it, as it would be in production.
+ * Results are printed and written to {@code target/load/thread-mode.json}.
+ *
+ * <p>Run with {@code mvn test -Pjava21,load-test}.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@DisplayName("Thread Mode Load Test")
+class ThreadModeLoadTest {
+
+    private static final int MOVIES = 2_000;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int TOMCAT_THREADS = 50;
+
+    @Test
+    @DisplayName("Should report throughput and p99 for platform and virtual threads")
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        String report = String.format(Locale.ROOT,
+                "{\"platform\":%s,\"virtual\":%s}%n", platform.toJson(), virtual.toJson());
+        Path output = Path.of("target", "load", "thread-mode.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+        System.out.print(report);
+
+        assertTrue(platform.requests() > 0 && virtual.requests() > 0);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MovieManagementSystemApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.jpa.show-sql=false",
+                        "mms.cache.movie.enabled=false",
+                        "mms.rate-limit.enabled=false",
+                        "mms.concurrency-limit.enabled=false")
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            seed(client, baseUrl);
+            return drive(client, baseUrl, mode);
+        }
+    }
+
+    private void seed(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < MOVIES; i++) {
+            body.append(String.format(Locale.ROOT,
+                    "{\"title\":\"Movie %d\",\"genre\":\"Genre %d\",\"director\":\"Director %d\",\"releaseYear\":%d,\"rating\":%.1f}%n",
+                    i, i % 20, i % 100, 1950 + i % 70, (i % 100) / 10.0));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/movies/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private Result drive(HttpClient client, String baseUrl, String mode) throws Exception {
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger slot = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        String path = random.nextInt(4) == 0
+                                ? "/api/movies/genre/Genre%20" + random.nextInt(20) + "?size=20"
+                                : "/api/movies/" + (1 + random.nextInt(MOVIES));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[slot.getAndIncrement()] = System.nanoTime() - start;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        long elapsed = System.nanoTime() - started;
+        Arrays.sort(latencies);
+        return new Result(mode, latencies.length, errors.get(), latencies.length * 1e9 / elapsed,
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99));
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String mode, int requests, int errors, double throughput, double p50Millis,
+                          double p99Millis) {
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"requests\":%d,\"errors\":%d,\"throughputPerSecond\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f}",
+                    requests, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+}
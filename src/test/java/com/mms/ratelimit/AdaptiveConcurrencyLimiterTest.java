@@ -0,0 +1,58 @@
+package com.mms.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new ConcurrencyLimitProperties(true, 10, 2, 12, Duration.ofMillis(100), 0.5, 1.0, Duration.ZERO));
+
+    @Test
+    @DisplayName("Should shed requests beyond the limit until permits are released")
+    void testShedsAtLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.shedCount());
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on slow calls, down to the minimum")
+    void testBacksOffOnLatency() {
+        limiter.onSample(SLOW);
+        assertEquals(5, limiter.limit());
+
+        limiter.onSample(SLOW);
+        limiter.onSample(SLOW);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Should grow by one per healthy call only while the limit is in use, up to the maximum")
+    void testGrowsWhenBusy() {
+        limiter.onSample(FAST);
+        assertEquals(10, limiter.limit());
+
+        for (int i = 0; i < 6; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.onSample(FAST);
+        }
+        assertEquals(12, limiter.limit());
+    }
+}
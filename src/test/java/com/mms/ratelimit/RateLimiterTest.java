@@ -0,0 +1,54 @@
+package com.mms.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Rate Limiter Tests")
+class RateLimiterTest {
+
+    private final RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, "",
+            new RateLimitProperties.Limit(1, 5), 1000, Duration.ofMinutes(1),
+            Map.of("catalog", new RateLimitProperties.EndpointLimit("/api/movies", List.of("get"), 1, 2))));
+
+    @Test
+    @DisplayName("Should allow a burst per client and endpoint, then ask the client to wait")
+    void testEndpointBurst() {
+        assertEquals(0, rateLimiter.tryAcquire("alice", "GET", "/api/movies"));
+        assertEquals(0, rateLimiter.tryAcquire("alice", "GET", "/api/movies"));
+
+        long wait = rateLimiter.tryAcquire("alice", "GET", "/api/movies");
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, rateLimiter.endpointRejectionCount());
+        assertEquals(0, rateLimiter.tryAcquire("bob", "GET", "/api/movies"));
+    }
+
+    @Test
+    @DisplayName("Should apply the client-wide limit to every endpoint")
+    void testClientLimit() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("carol", "POST", "/api/movies"));
+        }
+
+        assertTrue(rateLimiter.tryAcquire("carol", "GET", "/api/movies/1") > 0);
+        assertEquals(1, rateLimiter.clientRejectionCount());
+        assertEquals(0, rateLimiter.endpointRejectionCount());
+    }
+
+    @Test
+    @DisplayName("Should refill tokens at the configured rate")
+    void testRefill() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(50)) > 0);
+        assertEquals(0, bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.mms.repository;
+
+import com.mms.dto.MovieCursor;
+import com.mms.dto.MovieField;
+import com.mms.dto.MovieSortKey;
+import com.mms.entity.Movie;
+import com.mms.service.MovieService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Explains the SQL that Hibernate actually sends for keyset pages, captured by {@link SqlRecorder}
+ * as {@link FinderIndexCheck} does for the finders, and checks that each page seeks into an index and is read in index
+ * order instead of being sorted.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:keyset-plans;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Keyset Plan Integration Tests")
+class KeysetPlanIntegrationTest {
+
+    private static final String INDEX_SORTED = "/* index sorted */";
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FinderIndexCheck finderIndexCheck;
+
+    @Test
+    @DisplayName("Should seek the descending release year index for release year pages")
+    void testReleaseYearPagesSeekIndex() {
+        String cursor = cursorAfter(MovieSortKey.RELEASE_YEAR, 2000, 7.5);
+
+        List<String> plans = plansOf(() -> movieService.getMoviesPage(MovieSortKey.RELEASE_YEAR, cursor, 10));
+        plans.addAll(plansOf(() -> movieService.getMovieViewsPage(MovieSortKey.RELEASE_YEAR, cursor, 10,
+                Set.of(MovieField.TITLE))));
+
+        assertEquals(2, plans.size());
+        for (String plan : plans) {
+            assertTrue(plan.contains("IDX_MOVIES_RELEASE_YEAR_ID: RELEASE_YEAR <= ?"), plan);
+            assertTrue(plan.contains(INDEX_SORTED), plan);
+        }
+    }
+
+    @Test
+    @DisplayName("Should seek the descending rating index for rated pages and for the unrated tail")
+    void testRatingPagesSeekIndex() {
+        String cursor = cursorAfter(MovieSortKey.RATING, 2000, 7.5);
+
+        List<String> plans = plansOf(() -> movieService.getMoviesPage(MovieSortKey.RATING, cursor, 10));
+        plans.addAll(plansOf(() -> movieService.getMovieViewsPage(MovieSortKey.RATING, cursor, 10,
+                Set.of(MovieField.TITLE))));
+
+        // Each page: the rated rows, then (the table being empty) the unrated ones
+        assertEquals(4, plans.size());
+        for (int i = 0; i < plans.size(); i++) {
+            String plan = plans.get(i);
+            String seek = i % 2 == 0 ? "IDX_MOVIES_RATING_ID: RATING <= ?" : "IDX_MOVIES_RATING_ID: RATING IS NULL";
+            assertTrue(plan.contains(seek), plan);
+            assertTrue(plan.contains(INDEX_SORTED), plan);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find an index for the SQL of every repository finder")
+    void testEveryFinderUsesIndex() {
+        assertEquals(List.of(), finderIndexCheck.findUnindexedFinders());
+    }
+
+    private static String cursorAfter(MovieSortKey sort, int releaseYear, double rating) {
+        Movie last = new Movie("Last", "Drama", "Director", releaseYear, rating);
+        last.setId(5L);
+        return MovieCursor.after(sort, last).encode();
+    }
+
+    private List<String> plansOf(Runnable pageRead) {
+        List<String> plans = new ArrayList<>();
+        for (String sql : SqlRecorder.record(pageRead)) {
+            plans.add(String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)));
+        }
+        return plans;
+    }
+}
@@ -0,0 +1,75 @@
+package com.mms.search;
+
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.service.MovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Movie Text Index Tests")
+class MovieTextIndexTest {
+
+    private MovieTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MovieTextIndex(mock(MovieService.class), new TextSearchProperties(true, 200));
+        index.onMovieChanged(MovieChangedEvent.created(
+                new MovieSnapshot(1L, "The Matrix", "Sci-Fi", "Wachowski Brothers", 1999, 8.7)));
+        index.onMovieChanged(MovieChangedEvent.created(
+                new MovieSnapshot(2L, "Inception", "Sci-Fi", "Christopher Nolan", 2010, 8.8)));
+        index.onMovieChanged(MovieChangedEvent.created(
+                new MovieSnapshot(3L, "Interstellar", "Sci-Fi", "Christopher Nolan", 2014, 8.6)));
+    }
+
+    @Test
+    @DisplayName("Should complete the last query term as a prefix")
+    void testPrefixSearch() {
+        List<TextSearchHit> hits = index.search("inte", 10, false);
+
+        assertEquals(1, hits.size());
+        assertEquals(3L, hits.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Should require every term to match, across title and director")
+    void testMultiTermSearch() {
+        List<TextSearchHit> hits = index.search("nolan incep", 10, false);
+
+        assertEquals(List.of(2L), hits.stream().map(TextSearchHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should find near misses when fuzzy matching is enabled")
+    void testFuzzySearch() {
+        assertTrue(index.search("matrx the", 10, false).isEmpty());
+
+        List<TextSearchHit> hits = index.search("matrx the", 10, true);
+
+        assertEquals(List.of(1L), hits.stream().map(TextSearchHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should follow updates and deletions")
+    void testIncrementalUpdates() {
+        index.onMovieChanged(MovieChangedEvent.updated(
+                new MovieSnapshot(2L, "Tenet", "Sci-Fi", "Christopher Nolan", 2020, 7.3)));
+        index.onMovieChanged(MovieChangedEvent.deleted(3L));
+
+        assertTrue(index.search("inception", 10, false).isEmpty());
+        assertEquals(List.of(2L), index.search("nolan", 10, false).stream().map(TextSearchHit::id).toList());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Should fold case and accents when tokenizing")
+    void testTokenize() {
+        assertEquals(List.of("amelie", "jean", "pierre"), MovieTextIndex.tokenize("Amélie  (Jean-Pierre)"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.mms.service;
+
+import com.mms.dto.BulkItemStatus;
+import com.mms.dto.BulkResult;
+import com.mms.entity.Movie;
+import com.mms.repository.MovieRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Movie Bulk Service Tests")
+class MovieBulkServiceTest {
+
+    @Mock
+    private MovieService movieService;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MovieBulkService movieBulkService;
+
+    @BeforeEach
+    void setUp() {
+        movieBulkService = new MovieBulkService(
+                movieService,
+                movieRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager),
+                new BulkProperties(2));
+    }
+
+    @Test
+    @DisplayName("Should create valid movies and report invalid ones per item")
+    void testCreateMovies_MixedValidity() {
+        // Given
+        Movie valid = new Movie("Inception", "Sci-Fi", "Christopher Nolan", 2010, 8.8);
+        Movie invalid = new Movie("", "Sci-Fi", "Christopher Nolan", 1700, 8.8);
+        when(movieService.createMovie(any(Movie.class))).thenAnswer(invocation -> {
+            Movie movie = invocation.getArgument(0);
+            movie.setId(10L);
+            return movie;
+        });
+
+        // When
+        BulkResult result = movieBulkService.createMovies(List.of(valid, invalid).iterator());
+
+        // Then
+        assertEquals(2, result.total());
+        assertEquals(1, result.succeeded());
+        assertEquals(BulkItemStatus.CREATED, result.items().get(0).status());
+        assertEquals(10L, result.items().get(0).id());
+        assertEquals(BulkItemStatus.INVALID, result.items().get(1).status());
+        assertTrue(result.items().get(1).errors().containsKey("title"));
+        assertTrue(result.items().get(1).errors().containsKey("releaseYear"));
+        verify(movieService, times(1)).createMovie(any(Movie.class));
+    }
+
+    @Test
+    @DisplayName("Should replay a failed chunk item by item so only the bad item fails")
+    void testCreateMovies_ChunkFailureIsolated() {
+        // Given
+        Movie good = new Movie("Inception", "Sci-Fi", "Christopher Nolan", 2010, 8.8);
+        Movie bad = new Movie("Memento", "Thriller", "Christopher Nolan", 2000, 8.4);
+        when(movieService.createMovie(argThat(movie -> movie != null && "Memento".equals(movie.getTitle()))))
+                .thenThrow(new IllegalStateException("constraint violated"));
+        when(movieService.createMovie(argThat(movie -> movie != null && "Inception".equals(movie.getTitle()))))
+                .thenReturn(good);
+
+        // When
+        BulkResult result = movieBulkService.createMovies(List.of(good, bad).iterator());
+
+        // Then
+        assertEquals(1, result.succeeded());
+        assertEquals(BulkItemStatus.CREATED, result.items().get(0).status());
+        assertEquals(BulkItemStatus.FAILED, result.items().get(1).status());
+        assertEquals("constraint violated", result.items().get(1).message());
+    }
+
+    @Test
+    @DisplayName("Should report unknown ids as not found without touching the service")
+    void testDeleteMovies_NotFound() {
+        // Given
+        Movie existing = new Movie("Inception", "Sci-Fi", "Christopher Nolan", 2010, 8.8);
+        existing.setId(1L);
+        when(movieRepository.findAllById(anyList())).thenReturn(List.of(existing));
+
+        // When
+        BulkResult result = movieBulkService.deleteMovies(List.of(1L, 2L).iterator());
+
+        // Then
+        assertEquals(BulkItemStatus.DELETED, result.items().get(0).status());
+        assertEquals(BulkItemStatus.NOT_FOUND, result.items().get(1).status());
+        verify(movieService, times(1)).deleteMovie(1L);
+        verify(movieService, never()).deleteMovie(2L);
+    }
+}
@@ -0,0 +1,61 @@
+package com.mms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.dto.MoviePatch;
+import com.mms.dto.MovieVersion;
+import com.mms.entity.Movie;
+import com.mms.exception.MovieValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs JSON merge patches through the version-checked UPDATE against a real database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection-${random.uuid};DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Movie Patch Integration Tests")
+class MoviePatchIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MoviePatch patch(String json) throws Exception {
+        return MoviePatch.fromJson(objectMapper.readTree(json), objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should clear the rating on an explicit null and keep it when the field is absent")
+    void testExplicitNullClearsRating() throws Exception {
+        Movie movie = movieService.createMovie(new Movie("Patched", "Patching", "Director", 2001, 7.5));
+
+        MovieVersion renamed = movieService.patchMovie(movie.getId(), movie.getVersion(),
+                patch("{\"title\": \"Renamed\"}"));
+        assertEquals(7.5, movieService.getMovieById(movie.getId()).getRating());
+
+        movieService.patchMovie(movie.getId(), renamed.version(), patch("{\"rating\": null}"));
+        Movie cleared = movieService.getMovieById(movie.getId());
+        assertNull(cleared.getRating());
+        assertEquals("Renamed", cleared.getTitle());
+    }
+
+    @Test
+    @DisplayName("Should reject an explicit null for a required field")
+    void testExplicitNullForRequiredField() throws Exception {
+        Movie movie = movieService.createMovie(new Movie("Required", "Patching", "Director", 2002, 6.0));
+        MoviePatch patch = patch("{\"title\": null, \"rating\": 8.0}");
+
+        MovieValidationException exception = assertThrows(MovieValidationException.class,
+                () -> movieService.patchMovie(movie.getId(), movie.getVersion(), patch));
+        assertTrue(exception.getFieldErrors().containsKey("title"));
+        assertEquals(6.0, movieService.getMovieById(movie.getId()).getRating());
+    }
+}
@@ -0,0 +1,101 @@
+package com.mms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.dto.CursorPage;
+import com.mms.dto.MovieField;
+import com.mms.dto.MovieSearchCriteria;
+import com.mms.dto.MovieSortKey;
+import com.mms.dto.MovieView;
+import com.mms.entity.Movie;
+import com.mms.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the field-projection read path against a real database: keyset pages must walk the
+ * same rows in the same order as the entity listing, including unrated movies.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection-${random.uuid};DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Movie Projection Integration Tests")
+class MovieProjectionIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        if (!movieService.getMoviesByGenre("Projection").isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < 23; i++) {
+            Double rating = i % 4 == 0 ? null : (double) (i % 5) + 5.0;
+            movieService.createMovie(new Movie("Projected " + i, "Projection", "Director " + (i % 3),
+                    1990 + i % 6, rating));
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through views in the same order as entities for every sort key")
+    void testKeysetViewsMatchEntities() {
+        for (MovieSortKey sort : MovieSortKey.values()) {
+            List<Long> entityIds = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPage<Movie> page = movieService.getMoviesPage(sort, cursor, 4);
+                page.items().forEach(movie -> entityIds.add(movie.getId()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            List<Long> viewIds = new ArrayList<>();
+            cursor = null;
+            do {
+                CursorPage<MovieView> page = movieService.getMovieViewsPage(sort, cursor, 4, Set.of(MovieField.ID));
+                page.items().forEach(view -> viewIds.add(view.id()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertEquals(entityIds, viewIds, "order for sort " + sort);
+        }
+    }
+
+    @Test
+    @DisplayName("Should select and serialize only the requested fields")
+    void testSerializesRequestedFieldsOnly() throws Exception {
+        MovieSearchCriteria criteria = new MovieSearchCriteria(List.of("Projection"), List.of("Director 1"),
+                null, null, null, null, null);
+        Slice<MovieView> slice = movieService.searchMovieViews(criteria, MovieField.parse("title,releaseYear"),
+                PageRequest.of(0, 3, Sort.by("title")), false);
+
+        assertEquals(3, slice.getNumberOfElements());
+        assertTrue(slice.hasNext());
+        MovieView first = slice.getContent().get(0);
+        assertEquals("Projected 1", first.title());
+        assertNull(first.id());
+        assertEquals("{\"title\":\"Projected 1\",\"releaseYear\":1991}", objectMapper.writeValueAsString(first));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields")
+    void testRejectsUnknownField() {
+        assertThrows(BadRequestException.class, () -> MovieField.parse("title,budget"));
+        assertNull(MovieField.parse(null));
+    }
+}
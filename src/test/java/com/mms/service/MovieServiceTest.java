@@ -1,23 +1,58 @@
 package com.mms.service;
 
+import com.mms.cache.MovieCache;
+import com.mms.cache.MovieCacheProperties;
+import com.mms.columnar.ColumnarMovieIndex;
+import com.mms.columnar.ColumnarProperties;
+import com.mms.dto.CursorPage;
+import com.mms.dto.MovieCursor;
+import com.mms.dto.MovieField;
+import com.mms.dto.MoviePatch;
+import com.mms.dto.MovieSearchCriteria;
+import com.mms.dto.MovieSortKey;
+import com.mms.dto.MovieVersion;
 import com.mms.entity.Movie;
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.exception.BadRequestException;
 import com.mms.exception.MovieNotFoundException;
+import com.mms.exception.MovieValidationException;
+import com.mms.exception.PreconditionFailedException;
 import com.mms.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.dialect.NullOrdering;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +62,23 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ColumnarMovieIndex columnarIndex = new ColumnarMovieIndex(null, new ColumnarProperties(false, 16),
+            NullOrdering.SMALLEST);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MovieCache movieCache = new MovieCache(
+            new MovieCacheProperties(true, 100, Duration.ofMinutes(10), 100, Duration.ofSeconds(30)));
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private MovieService movieService;
 
@@ -52,29 +104,11 @@ class MovieServiceTest {
         movie2.setRating(8.8);
     }
 
-    @Test
-    @DisplayName("Should return all movies")
-    void testGetAllMovies() {
-        // Given
-        List<Movie> movies = Arrays.asList(movie1, movie2);
-        when(movieRepository.findAll()).thenReturn(movies);
-
-        // When
-        List<Movie> result = movieService.getAllMovies();
-
-        // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("The Matrix", result.get(0).getTitle());
-        assertEquals("Inception", result.get(1).getTitle());
-        verify(movieRepository, times(1)).findAll();
-    }
-
     @Test
     @DisplayName("Should return movie by id when movie exists")
     void testGetMovieById_Success() {
         // Given
-        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie1));
+        when(movieRepository.findByIdOnPrimary(1L)).thenReturn(Optional.of(movie1));
 
         // When
         Movie result = movieService.getMovieById(1L);
@@ -84,14 +118,14 @@ class MovieServiceTest {
         assertEquals(1L, result.getId());
         assertEquals("The Matrix", result.getTitle());
         assertEquals("Sci-Fi", result.getGenre());
-        verify(movieRepository, times(1)).findById(1L);
+        verify(movieRepository, times(1)).findByIdOnPrimary(1L);
     }
 
     @Test
     @DisplayName("Should throw MovieNotFoundException when movie does not exist")
     void testGetMovieById_NotFound() {
         // Given
-        when(movieRepository.findById(999L)).thenReturn(Optional.empty());
+        when(movieRepository.findByIdOnPrimary(999L)).thenReturn(Optional.empty());
 
         // When & Then
         MovieNotFoundException exception = assertThrows(
@@ -99,7 +133,71 @@ class MovieServiceTest {
                 () -> movieService.getMovieById(999L)
         );
         assertEquals("Movie not found with id: 999", exception.getMessage());
-        verify(movieRepository, times(1)).findById(999L);
+        verify(movieRepository, times(1)).findByIdOnPrimary(999L);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups of the same id from the cache")
+    void testGetMovieById_CacheHit() {
+        // Given
+        when(movieRepository.findByIdOnPrimary(1L)).thenReturn(Optional.of(movie1));
+
+        // When
+        movieService.getMovieById(1L);
+        Movie result = movieService.getMovieById(1L);
+
+        // Then
+        assertEquals("The Matrix", result.getTitle());
+        verify(movieRepository, times(1)).findByIdOnPrimary(1L);
+        assertEquals(1, movieService.getCacheStats().hits());
+    }
+
+    @Test
+    @DisplayName("Should remember ids that do not exist")
+    void testGetMovieById_NegativeCache() {
+        // Given
+        when(movieRepository.findByIdOnPrimary(999L)).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(MovieNotFoundException.class, () -> movieService.getMovieById(999L));
+        assertThrows(MovieNotFoundException.class, () -> movieService.getMovieById(999L));
+
+        // Then
+        verify(movieRepository, times(1)).findByIdOnPrimary(999L);
+        assertEquals(1, movieService.getCacheStats().negativeHits());
+    }
+
+    @Test
+    @DisplayName("Should resolve the version of a cached movie without querying")
+    void testGetMovieVersion_Cached() {
+        // Given
+        movie1.setVersion(3L);
+        when(movieRepository.findByIdOnPrimary(1L)).thenReturn(Optional.of(movie1));
+        movieService.getMovieById(1L);
+
+        // When
+        MovieVersion version = movieService.getMovieVersion(1L);
+
+        // Then
+        assertEquals("\"3\"", version.etag());
+        verify(movieRepository, never()).findVersionById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should resolve the version of an uncached movie with a projection query")
+    void testGetMovieVersion_Projection() {
+        // Given
+        Instant updatedAt = Instant.parse("2024-01-01T00:00:00Z");
+        when(movieRepository.findVersionById(1L)).thenReturn(Optional.of(new MovieVersion(5L, updatedAt)));
+        when(movieRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        // When
+        MovieVersion version = movieService.getMovieVersion(1L);
+
+        // Then
+        assertEquals(updatedAt.toEpochMilli(), version.lastModifiedMillis());
+        assertThrows(MovieNotFoundException.class, () -> movieService.getMovieVersion(999L));
+        verify(movieRepository, never()).findByIdOnPrimary(anyLong());
     }
 
     @Test
@@ -123,6 +221,9 @@ class MovieServiceTest {
         assertEquals("Interstellar", result.getTitle());
         assertEquals("Christopher Nolan", result.getDirector());
         verify(movieRepository, times(1)).save(newMovie);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof MovieChangedEvent changed
+                && changed.type() == MovieChangedEvent.Type.CREATED
+                && "Interstellar".equals(changed.movie().title())));
     }
 
     @Test
@@ -155,6 +256,7 @@ class MovieServiceTest {
         assertNotNull(result);
         verify(movieRepository, times(1)).findById(1L);
         verify(movieRepository, times(1)).save(any(Movie.class));
+        verify(movieCache).invalidate(1L);
     }
 
     @Test
@@ -190,25 +292,26 @@ class MovieServiceTest {
     }
 
     @Test
-    @DisplayName("Should delete movie when movie exists")
+    @DisplayName("Should delete movie with a single statement when movie exists")
     void testDeleteMovie_Success() {
         // Given
-        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie1));
-        doNothing().when(movieRepository).delete(movie1);
+        when(movieRepository.deleteMovieById(1L)).thenReturn(1);
 
         // When
         movieService.deleteMovie(1L);
 
         // Then
-        verify(movieRepository, times(1)).findById(1L);
-        verify(movieRepository, times(1)).delete(movie1);
+        verify(movieRepository, times(1)).deleteMovieById(1L);
+        verify(movieRepository, never()).findById(anyLong());
+        verify(movieCache).invalidate(1L);
+        verify(eventPublisher).publishEvent(MovieChangedEvent.deleted(1L));
     }
 
     @Test
     @DisplayName("Should throw MovieNotFoundException when deleting non-existent movie")
     void testDeleteMovie_NotFound() {
         // Given
-        when(movieRepository.findById(999L)).thenReturn(Optional.empty());
+        when(movieRepository.deleteMovieById(999L)).thenReturn(0);
 
         // When & Then
         MovieNotFoundException exception = assertThrows(
@@ -216,8 +319,84 @@ class MovieServiceTest {
                 () -> movieService.deleteMovie(999L)
         );
         assertEquals("Movie not found with id: 999", exception.getMessage());
-        verify(movieRepository, times(1)).findById(999L);
-        verify(movieRepository, never()).delete(any());
+        verify(movieRepository, never()).findById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should patch movie with one conditional update")
+    void testPatchMovie_Success() {
+        // Given
+        Movie changes = new Movie();
+        changes.setRating(9.0);
+        when(movieRepository.patchIfVersion(eq(1L), eq(3L), isNull(), isNull(), isNull(), isNull(), eq(9.0), eq(false),
+                any())).thenReturn(1);
+        when(movieRepository.findSnapshotById(1L)).thenReturn(Optional.of(
+                new MovieSnapshot(1L, "The Matrix", "Sci-Fi", "Wachowski Brothers", 1999, 9.0)));
+
+        // When
+        MovieVersion result = movieService.patchMovie(1L, 3L, MoviePatch.of(changes));
+
+        // Then
+        assertEquals(4L, result.version());
+        verify(movieRepository, never()).findById(anyLong());
+        verify(movieCache).invalidate(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof MovieChangedEvent changed
+                && changed.type() == MovieChangedEvent.Type.UPDATED
+                && "The Matrix".equals(changed.movie().title())
+                && Double.valueOf(9.0).equals(changed.movie().rating())));
+    }
+
+    @Test
+    @DisplayName("Should reject a patch against a stale version")
+    void testPatchMovie_StaleVersion() {
+        // Given
+        Movie changes = new Movie();
+        changes.setTitle("Renamed");
+        when(movieRepository.patchIfVersion(eq(1L), eq(3L), eq("Renamed"), any(), any(), any(), any(), anyBoolean(),
+                any())).thenReturn(0);
+        when(movieRepository.findVersionById(1L)).thenReturn(Optional.of(new MovieVersion(4L, Instant.now())));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> movieService.patchMovie(1L, 3L, MoviePatch.of(changes)));
+        verify(movieCache, never()).invalidate(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should validate only the fields present in a patch")
+    void testPatchMovie_InvalidField() {
+        // Given
+        Movie changes = new Movie();
+        changes.setRating(11.0);
+
+        // When & Then
+        MovieValidationException exception = assertThrows(
+                MovieValidationException.class,
+                () -> movieService.patchMovie(1L, 3L, MoviePatch.of(changes))
+        );
+        assertEquals(Set.of("rating"), exception.getFieldErrors().keySet());
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    @DisplayName("Should clear the rating on an explicit null and refuse to clear a required field")
+    void testPatchMovie_ExplicitNull() {
+        // Given
+        when(movieRepository.patchIfVersion(eq(1L), eq(3L), isNull(), isNull(), isNull(), isNull(), isNull(), eq(true),
+                any())).thenReturn(1);
+        when(movieRepository.findSnapshotById(1L)).thenReturn(Optional.of(
+                new MovieSnapshot(1L, "The Matrix", "Sci-Fi", "Wachowski Brothers", 1999, null)));
+
+        // When
+        movieService.patchMovie(1L, 3L, new MoviePatch(new Movie(), Set.of(MovieField.RATING)));
+        MovieValidationException exception = assertThrows(MovieValidationException.class,
+                () -> movieService.patchMovie(1L, 3L, new MoviePatch(new Movie(), Set.of(MovieField.TITLE))));
+
+        // Then
+        verify(movieRepository).patchIfVersion(eq(1L), eq(3L), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(true), any());
+        assertEquals(Set.of("title"), exception.getFieldErrors().keySet());
     }
 
     @Test
@@ -285,5 +464,119 @@ class MovieServiceTest {
         assertEquals(2, result.size());
         verify(movieRepository, times(1)).findByRatingGreaterThanEqual(8.5);
     }
-}
 
+    @Test
+    @DisplayName("Should return first keyset page with a cursor when more movies exist")
+    void testGetMoviesPage_FirstPage() {
+        // Given
+        Movie movie3 = new Movie("Interstellar", "Sci-Fi", "Christopher Nolan", 2014, 8.6);
+        movie3.setId(3L);
+        when(movieRepository.findPageAfterId(0L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(movie1, movie2, movie3));
+
+        // When
+        CursorPage<Movie> result = movieService.getMoviesPage(MovieSortKey.ID, null, 2);
+
+        // Then
+        assertEquals(2, result.items().size());
+        assertTrue(result.hasNext());
+        assertEquals(2L, MovieCursor.decode(result.nextCursor(), MovieSortKey.ID).id());
+    }
+
+    @Test
+    @DisplayName("Should seek past the cursor position when sorting by rating and follow with the unrated movies")
+    void testGetMoviesPage_RatingCursor() {
+        // Given
+        Movie unrated = new Movie("Unrated", "Drama", "Director", 2020, null);
+        unrated.setId(3L);
+        String cursor = MovieCursor.after(MovieSortKey.RATING, movie2).encode();
+        when(movieRepository.findPageAfterRating(8.8, 2L, PageRequest.of(0, 11)))
+                .thenReturn(Arrays.asList(movie1));
+        when(movieRepository.findUnratedPageAfterId(0L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(unrated));
+
+        // When
+        CursorPage<Movie> result = movieService.getMoviesPage(MovieSortKey.RATING, cursor, 10);
+
+        // Then
+        assertEquals(List.of(movie1, unrated), result.items());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for a different sort")
+    void testGetMoviesPage_MismatchedCursor() {
+        // Given
+        String cursor = MovieCursor.after(MovieSortKey.ID, movie1).encode();
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> movieService.getMoviesPage(MovieSortKey.RATING, cursor, 10));
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    @DisplayName("Should page movies by genre without a count query unless requested")
+    void testGetMoviesByGenre_SliceWithoutCount() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        when(movieRepository.findSliceByGenre("Sci-Fi", pageable))
+                .thenReturn(new SliceImpl<>(List.of(movie1), pageable, true));
+
+        // When
+        Slice<Movie> result = movieService.getMoviesByGenre("Sci-Fi", pageable, false);
+
+        // Then
+        assertEquals(1, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        verify(movieRepository, never()).findByGenre(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should page movies by genre with totals when a count is requested")
+    void testGetMoviesByGenre_PageWithCount() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        when(movieRepository.findByGenre("Sci-Fi", pageable))
+                .thenReturn(new PageImpl<>(List.of(movie1), pageable, 2));
+
+        // When
+        Slice<Movie> result = movieService.getMoviesByGenre("Sci-Fi", pageable, true);
+
+        // Then
+        assertEquals(1, result.getNumberOfElements());
+        verify(movieRepository, never()).findSliceByGenre(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should search with a single specification query and no count by default")
+    void testSearchMovies() {
+        // Given
+        MovieSearchCriteria criteria = new MovieSearchCriteria(
+                List.of("Sci-Fi"), null, null, 1990, 2000, 8.0, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(movieRepository.findSlice(any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(movie1), pageable, false));
+
+        // When
+        Slice<Movie> result = movieService.searchMovies(criteria, pageable, false);
+
+        // Then
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals("The Matrix", result.getContent().get(0).getTitle());
+        verify(movieRepository, times(1)).findSlice(any(), eq(pageable));
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted year range")
+    void testSearchMovies_InvalidRange() {
+        // Given
+        MovieSearchCriteria criteria = new MovieSearchCriteria(null, null, null, 2000, 1990, null, null);
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> movieService.searchMovies(criteria, PageRequest.of(0, 10), false));
+        verifyNoInteractions(movieRepository);
+    }
+}
@@ -0,0 +1,95 @@
+package com.mms.stats;
+
+import com.mms.entity.Movie;
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.exception.BadRequestException;
+import com.mms.service.MovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Movie Rankings Tests")
+class MovieRankingsTest {
+
+    private final MovieService movieService = mock(MovieService.class);
+    private MovieRankings rankings;
+    private MovieStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        rankings = new MovieRankings();
+        statistics = new MovieStatistics(movieService, rankings);
+        statistics.rebuild();
+        add(1L, "The Matrix", "Sci-Fi", "Wachowski Brothers", 1999, 8.7);
+        add(2L, "Inception", "Sci-Fi", "Christopher Nolan", 2010, 8.8);
+        add(3L, "Memento", "Thriller", "Christopher Nolan", 2000, null);
+        add(4L, "Interstellar", "Sci-Fi", "Christopher Nolan", 2014, 8.7);
+    }
+
+    private void add(Long id, String title, String genre, String director, int year, Double rating) {
+        statistics.onMovieChanged(MovieChangedEvent.created(new MovieSnapshot(id, title, genre, director, year, rating)));
+    }
+
+    private static List<Long> ids(List<RankedMovie> top) {
+        return top.stream().map(RankedMovie::id).toList();
+    }
+
+    @Test
+    @DisplayName("Should rank by rating with ties by id and leave unrated movies out")
+    void testTop() {
+        List<RankedMovie> top = rankings.top(10);
+
+        assertEquals(List.of(2L, 1L, 4L), ids(top));
+        assertEquals(3, top.get(2).rank());
+        assertEquals(List.of(2L), ids(rankings.top(StatsDimension.DIRECTOR, "Christopher Nolan", 1)));
+        assertEquals(List.of(), rankings.top(StatsDimension.GENRE, "Thriller", 10));
+        assertThrows(BadRequestException.class, () -> rankings.top(MovieRankings.MAX_LIMIT + 1));
+    }
+
+    @Test
+    @DisplayName("Should move a movie within and between rankings on an update")
+    void testUpdate() {
+        statistics.onMovieChanged(MovieChangedEvent.updated(new MovieSnapshot(3L, "Memento", "Sci-Fi", "Christopher Nolan", 2000, 9.0)));
+        statistics.onMovieChanged(MovieChangedEvent.updated(new MovieSnapshot(2L, "Inception", "Sci-Fi", "Christopher Nolan", 2010, 7.0)));
+
+        assertEquals(List.of(3L, 1L, 4L, 2L), ids(rankings.top(StatsDimension.GENRE, "Sci-Fi", 10)));
+        assertEquals("Memento", rankings.top(1).get(0).title());
+        assertEquals(List.of(3L), ids(rankings.top(StatsDimension.YEAR, "2000", 10)));
+    }
+
+    @Test
+    @DisplayName("Should drop deleted movies from every ranking")
+    void testDelete() {
+        statistics.onMovieChanged(MovieChangedEvent.deleted(1L));
+
+        assertEquals(List.of(2L, 4L), ids(rankings.top(10)));
+        assertEquals(List.of(), rankings.top(StatsDimension.DIRECTOR, "Wachowski Brothers", 10));
+    }
+
+    @Test
+    @DisplayName("Should be rebuilt by the statistics' scan and show a movie's current title")
+    void testRebuiltWithStatistics() {
+        doAnswer(invocation -> {
+            Consumer<Movie> consumer = invocation.getArgument(0);
+            Movie movie = new Movie("Heat", "Crime", "Michael Mann", 1995, 8.3);
+            movie.setId(7L);
+            consumer.accept(movie);
+            return null;
+        }).when(movieService).streamAllMovies(any());
+
+        statistics.rebuild();
+        statistics.onMovieChanged(MovieChangedEvent.updated(new MovieSnapshot(7L, "Heat (1995)", "Crime", "Michael Mann", 1995, 8.3)));
+
+        assertEquals(List.of(7L), ids(rankings.top(10)));
+        assertEquals("Heat (1995)", rankings.top(StatsDimension.GENRE, "Crime", 1).get(0).title());
+    }
+}
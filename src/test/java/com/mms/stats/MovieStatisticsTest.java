@@ -0,0 +1,106 @@
+package com.mms.stats;
+
+import com.mms.entity.Movie;
+import com.mms.event.MovieChangedEvent;
+import com.mms.event.MovieSnapshot;
+import com.mms.exception.StatisticsNotReadyException;
+import com.mms.service.MovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Movie Statistics Tests")
+class MovieStatisticsTest {
+
+    private final MovieService movieService = mock(MovieService.class);
+    private MovieStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new MovieStatistics(movieService, new MovieRankings());
+        statistics.rebuild();
+        statistics.onMovieChanged(MovieChangedEvent.created(
+                new MovieSnapshot(1L, "The Matrix", "Sci-Fi", "Wachowski Brothers", 1999, 8.7)));
+        statistics.onMovieChanged(MovieChangedEvent.created(
+                new MovieSnapshot(2L, "Inception", "Sci-Fi", "Christopher Nolan", 2010, 8.8)));
+        statistics.onMovieChanged(MovieChangedEvent.created(
+                new MovieSnapshot(3L, "Memento", "Thriller", "Christopher Nolan", 2000, null)));
+    }
+
+    @Test
+    @DisplayName("Should aggregate counts and average ratings per group")
+    void testAggregates() {
+        MovieStats stats = statistics.stats();
+
+        assertEquals(new GroupStats(3, 2, 8.75), stats.total());
+        assertEquals(new GroupStats(2, 2, 8.75), stats.byGenre().get("Sci-Fi"));
+        assertEquals(new GroupStats(2, 1, 8.8), stats.byDirector().get("Christopher Nolan"));
+        assertEquals(new GroupStats(1, 0, null), statistics.stats(StatsDimension.YEAR, "2000"));
+    }
+
+    @Test
+    @DisplayName("Should move a movie between groups on an update")
+    void testUpdate() {
+        statistics.onMovieChanged(MovieChangedEvent.updated(
+                new MovieSnapshot(2L, "Inception", "Thriller", "Christopher Nolan", 2010, 8.8)));
+
+        assertEquals(new GroupStats(1, 1, 8.7), statistics.stats(StatsDimension.GENRE, "Sci-Fi"));
+        assertEquals(new GroupStats(2, 1, 8.8), statistics.stats(StatsDimension.GENRE, "Thriller"));
+        assertEquals(new GroupStats(2, 1, 8.8), statistics.stats(StatsDimension.DIRECTOR, "Christopher Nolan"));
+    }
+
+    @Test
+    @DisplayName("Should drop empty groups on delete")
+    void testDelete() {
+        statistics.onMovieChanged(MovieChangedEvent.deleted(1L));
+
+        assertFalse(statistics.stats().byDirector().containsKey("Wachowski Brothers"));
+        assertEquals(new GroupStats(2, 1, 8.8), statistics.stats().total());
+    }
+
+    @Test
+    @DisplayName("Should keep a change committed during the rebuild over the row the scan reads later")
+    void testChangeDuringRebuild() {
+        doAnswer(invocation -> {
+            Consumer<Movie> consumer = invocation.getArgument(0);
+            // A patch commits before the scan reaches the movie, which the scan still sees unpatched
+            statistics.onMovieChanged(MovieChangedEvent.updated(
+                    new MovieSnapshot(9L, "Heat", "Crime", "Michael Mann", 1995, 8.3)));
+            Movie stale = new Movie("Heat", "Crime", "Michael Mann", 1995, null);
+            stale.setId(9L);
+            consumer.accept(stale);
+            return null;
+        }).when(movieService).streamAllMovies(any());
+
+        statistics.rebuild();
+
+        assertEquals(new GroupStats(1, 1, 8.3), statistics.stats().total());
+    }
+
+    @Test
+    @DisplayName("Should refuse reads until the startup scan has completed")
+    void testNotReadyDuringRebuild() {
+        MovieRankings rankings = new MovieRankings();
+        MovieStatistics building = new MovieStatistics(movieService, rankings);
+        assertThrows(StatisticsNotReadyException.class, building::stats);
+
+        doAnswer(invocation -> {
+            assertFalse(building.isReady());
+            assertThrows(StatisticsNotReadyException.class, () -> building.stats(StatsDimension.GENRE, "Crime"));
+            assertThrows(StatisticsNotReadyException.class, () -> rankings.top(10));
+            return null;
+        }).when(movieService).streamAllMovies(any());
+        building.rebuild();
+
+        assertTrue(building.isReady());
+        assertEquals(new GroupStats(0, 0, null), building.stats().total());
+        assertEquals(0, rankings.top(10).size());
+    }
+}
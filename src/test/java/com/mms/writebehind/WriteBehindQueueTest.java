@@ -0,0 +1,156 @@
+package com.mms.writebehind;
+
+import com.mms.entity.Movie;
+import com.mms.exception.WriteQueueFullException;
+import com.mms.service.MovieService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Write-Behind Queue Tests")
+class WriteBehindQueueTest {
+
+    private final MovieService movieService = mock(MovieService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<Integer> transactionSizes = new ArrayList<>();
+
+    private WriteBehindQueue queue(int capacity, int batchSize, Duration maxBatchDelay) {
+        return queue(capacity, batchSize, maxBatchDelay, new CountDownLatch(0));
+    }
+
+    // Transactions wait for commitGate, which lets a test hold the writer mid-batch
+    private WriteBehindQueue queue(int capacity, int batchSize, Duration maxBatchDelay, CountDownLatch commitGate) {
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            Movie movie = invocation.getArgument(0);
+            if (movie.getTitle().startsWith("Broken")) {
+                throw new IllegalStateException("constraint violated");
+            }
+            movie.setId(ids.incrementAndGet());
+            return movie;
+        }).when(movieService).createMovie(any(Movie.class));
+        // doAnswer so that re-stubbing (once per round in the race test) does not invoke the old answer
+        doAnswer(invocation -> {
+            commitGate.await(5, TimeUnit.SECONDS);
+            long before = ids.get();
+            Object result = invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            synchronized (transactionSizes) {
+                transactionSizes.add((int) (ids.get() - before));
+            }
+            return result;
+        }).when(transactionTemplate).execute(any());
+        return new WriteBehindQueue(movieService, transactionTemplate,
+                new WriteBehindProperties(true, capacity, batchSize, maxBatchDelay, 1000, Duration.ofMinutes(1),
+                        Duration.ofSeconds(10)));
+    }
+
+    private static Movie movie(String title) {
+        return new Movie(title, "Drama", "Director", 2000, 7.0);
+    }
+
+    @Test
+    @DisplayName("Should coalesce writes into batched transactions and flush them on shutdown")
+    void testBatchesAndFlushesOnShutdown() throws InterruptedException {
+        WriteBehindQueue queue = queue(100, 10, Duration.ofSeconds(5));
+        List<WriteStatus> accepted = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            accepted.add(queue.submit(movie("Movie " + i)));
+        }
+
+        queue.shutdown();
+
+        assertEquals(25, queue.committedCount());
+        assertEquals(List.of(10, 10, 5), transactionSizes);
+        WriteStatus last = queue.getStatus(accepted.get(24).trackingId());
+        assertEquals(WriteStatus.State.COMMITTED, last.state());
+        assertEquals(25L, last.movieId());
+        assertThrows(WriteQueueFullException.class, () -> queue.submit(movie("Too late")));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch one by one and fail only the bad write")
+    void testFailedBatchIsRetriedPerWrite() throws InterruptedException {
+        WriteBehindQueue queue = queue(100, 10, Duration.ofSeconds(5));
+        WriteStatus good = queue.submit(movie("Good"));
+        WriteStatus broken = queue.submit(movie("Broken"));
+
+        queue.shutdown();
+
+        assertEquals(WriteStatus.State.COMMITTED, queue.getStatus(good.trackingId()).state());
+        WriteStatus failed = queue.getStatus(broken.trackingId());
+        assertEquals(WriteStatus.State.FAILED, failed.state());
+        assertEquals("constraint violated", failed.error());
+        assertEquals(1, queue.failedCount());
+    }
+
+    @Test
+    @DisplayName("Should commit every accepted write when submits race with shutdown")
+    void testSubmitRacingShutdown() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            WriteBehindQueue queue = queue(10_000, 50, Duration.ZERO);
+            List<WriteStatus> accepted = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread submitter = new Thread(() -> {
+                    try {
+                        start.await();
+                        while (true) {
+                            accepted.add(queue.submit(movie("Racing")));
+                        }
+                    } catch (WriteQueueFullException | InterruptedException ex) {
+                        // shutting down (or full): stop submitting
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            start.countDown();
+            Thread.sleep(5);
+
+            queue.shutdown();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            assertEquals(0, queue.depth());
+            assertEquals(accepted.size(), queue.acceptedCount());
+            assertEquals(accepted.size(), queue.committedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject writes when the queue is full")
+    void testRejectsWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindQueue queue = queue(2, 1, Duration.ZERO, release);
+
+        queue.submit(movie("In flight"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.depth() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        queue.submit(movie("Queued 1"));
+        queue.submit(movie("Queued 2"));
+
+        assertThrows(WriteQueueFullException.class, () -> queue.submit(movie("Overflow")));
+        assertEquals(1, queue.rejectedCount());
+        release.countDown();
+        queue.shutdown();
+        assertEquals(3, queue.committedCount());
+    }
+}
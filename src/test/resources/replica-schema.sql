@@ -0,0 +1,12 @@
+-- Schema of the stand-in read replica used by ReadReplicaRoutingIntegrationTest; a real
+-- replica receives it through replication
+CREATE TABLE IF NOT EXISTS movies (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    genre VARCHAR(100) NOT NULL,
+    director VARCHAR(100) NOT NULL,
+    release_year INTEGER NOT NULL,
+    rating FLOAT(53),
+    version BIGINT,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);